@@ -0,0 +1,45 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.application;
+
+import javax.faces.context.FacesContext;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+
+import org.primefaces.extensions.component.exporter.ExportJobManager;
+
+/**
+ * {@link SystemEventListener} which releases the resources of the application on shutdown: it stops the threads of the asynchronous exports and deletes
+ * their files.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class PreDestroyApplicationEventListener implements SystemEventListener {
+
+    @Override
+    public boolean isListenerForSource(final Object source) {
+        return true;
+    }
+
+    @Override
+    public void processEvent(final SystemEvent event) {
+        final FacesContext context = FacesContext.getCurrentInstance();
+        if (context != null) {
+            ExportJobManager.destroy(context);
+        }
+    }
+}
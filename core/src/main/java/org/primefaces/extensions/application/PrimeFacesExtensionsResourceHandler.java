@@ -15,11 +15,15 @@
  */
 package org.primefaces.extensions.application;
 
+import java.io.IOException;
 import java.util.Locale;
 
 import javax.faces.application.Resource;
 import javax.faces.application.ResourceHandler;
 import javax.faces.application.ResourceHandlerWrapper;
+import javax.faces.context.FacesContext;
+
+import org.primefaces.extensions.component.exporter.ExportJobManager;
 
 /**
  * {@link ResourceHandlerWrapper} which wraps PrimeFaces Extensions resources and appends the version of PrimeFaces Extensions in the
@@ -56,6 +60,17 @@ public class PrimeFacesExtensionsResourceHandler extends ResourceHandlerWrapper
         return wrapResource(resource, libraryName);
     }
 
+    @Override
+    @SuppressWarnings("deprecation") // the exporter is deprecated
+    public void handleResourceRequest(final FacesContext context) throws IOException {
+        if (ExportJobManager.isJobRequest(context)) {
+            ExportJobManager.getInstance(context).handleJobRequest(context);
+        }
+        else {
+            super.handleResourceRequest(context);
+        }
+    }
+
     private static Resource wrapResource(Resource resource, String libraryName) {
         // libs starting with "primefaces" will get "&e=9.0" extension version appended
         if (resource != null && libraryName != null
@@ -15,7 +15,15 @@
  */
 package org.primefaces.extensions.component.base;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.faces.FacesException;
 import javax.faces.application.Application;
@@ -58,6 +66,9 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
     private String clientId = null;
     private final StringBuilder idBuilder = new StringBuilder();
     private Boolean isNested = null;
+    private List<UIComponent> descendants = null;
+    private List<EditableValueHolder> editableDescendants = null;
+    private String[] editableDescendantIds = null;
 
     /**
      * Properties that are tracked by state saving.
@@ -138,6 +149,34 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
      */
     protected abstract boolean visitChildren(VisitContext context, VisitCallback callback);
 
+    /**
+     * Extracts the keys of the data items to be visited from the client ids of a partial visit, e.g. of an Ajax update targeting single items.
+     *
+     * @param context visit context {@link VisitContext}
+     * @return Set the keys or null if all data items have to be visited
+     */
+    protected Set<String> getKeysToVisit(final VisitContext context) {
+        final Collection<String> ids = context.getSubtreeIdsToVisit(this);
+        if (ids == VisitContext.ALL_IDS) {
+            return null;
+        }
+
+        final char separator = UINamingContainer.getSeparatorChar(context.getFacesContext());
+        final String prefix = getClientId(context.getFacesContext()) + separator;
+        final Set<String> keys = new HashSet<>();
+        for (final String id : ids) {
+            final int end = id.indexOf(separator, prefix.length());
+            if (!id.startsWith(prefix) || end < 0) {
+                // not a descendant of a data item
+                return null;
+            }
+
+            keys.add(id.substring(prefix.length(), end));
+        }
+
+        return keys;
+    }
+
     /**
      * Searches a child component with the given clientId during invokeOnComponent() and invokes the callback on it if found.
      *
@@ -171,6 +210,8 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
 
         data = null;
         exposeVar();
+
+        resetDescendantIds();
     }
 
     public KeyData getData() {
@@ -256,12 +297,19 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
         }
     }
 
+    @Override
+    public void encodeBegin(final FacesContext context) throws IOException {
+        resetDescendantCache();
+        super.encodeBegin(context);
+    }
+
     @Override
     public void processDecodes(final FacesContext context) {
         if (!isRendered()) {
             return;
         }
 
+        resetDescendantCache();
         pushComponentToEL(context, this);
         preDecode(context);
         processFacets(context, PhaseId.APPLY_REQUEST_VALUES, this);
@@ -285,6 +333,7 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
             return;
         }
 
+        resetDescendantCache();
         pushComponentToEL(context, this);
 
         final Application app = context.getApplication();
@@ -303,6 +352,7 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
             return;
         }
 
+        resetDescendantCache();
         pushComponentToEL(context, this);
         processFacets(context, PhaseId.UPDATE_MODEL_VALUES, this);
         processChildren(context, PhaseId.UPDATE_MODEL_VALUES);
@@ -310,14 +360,22 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
     }
 
     protected void preDecode(final FacesContext context) {
-        final Map<String, SavedEditableValueState> saved = (Map<String, SavedEditableValueState>) getStateHelper()
-                    .get(PropertyKeys.saved);
+        final Map<String, Object> saved = (Map<String, Object>) getStateHelper().get(PropertyKeys.saved);
         if (null == saved) {
             getStateHelper().remove(PropertyKeys.saved);
         }
         else if (!keepSaved(context)) {
-            for (final SavedEditableValueState saveState : saved.values()) {
-                saveState.reset();
+            for (final Object savedState : saved.values()) {
+                if (savedState instanceof SavedDescendantStates) {
+                    for (final SavedEditableValueState saveState : ((SavedDescendantStates) savedState).states) {
+                        if (saveState != null) {
+                            saveState.reset();
+                        }
+                    }
+                }
+                else if (savedState instanceof SavedEditableValueState) {
+                    ((SavedEditableValueState) savedState).reset();
+                }
             }
         }
     }
@@ -401,6 +459,7 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
 
         final FacesContext fc = context.getFacesContext();
         final KeyData oldData = getData();
+        resetDescendantCache();
         resetData();
 
         pushComponentToEL(fc, null);
@@ -534,48 +593,110 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
     }
 
     protected void saveDescendantState() {
-        for (final UIComponent child : getChildren()) {
-            saveDescendantState(FacesContext.getCurrentInstance(), child);
+        final FacesContext context = FacesContext.getCurrentInstance();
+        final List<EditableValueHolder> inputs = getEditableDescendants();
+        if (inputs.isEmpty()) {
+            return;
+        }
+
+        final String key = getContainerClientId(context);
+        SavedDescendantStates savedStates = getSavedDescendantStates(key);
+        if (savedStates == null) {
+            savedStates = new SavedDescendantStates(editableDescendantIds);
+            getStateHelper().put(PropertyKeys.saved, key, savedStates);
+        }
+
+        final SavedEditableValueState[] states = savedStates.states;
+        for (int i = 0; i < states.length; i++) {
+            final EditableValueHolder input = inputs.get(i);
+            SavedEditableValueState state = states[i];
+            if (state == null) {
+                state = new SavedEditableValueState();
+                states[i] = state;
+            }
+
+            state.setValue(input.getLocalValue());
+            state.setValid(input.isValid());
+            state.setSubmittedValue(input.getSubmittedValue());
+            state.setLocalValueSet(input.isLocalValueSet());
+            state.setLabelValue(((UIComponent) input).getAttributes().get(Attrs.LABEL));
+
+            // currently we can't save/restore the disabled: See #571 #644
+            // we also can't change it easily as the var is not not exposed at this time; it would need some refactoring
+            /*
+             * state.setDisabled(((UIComponent) input).getAttributes().get("disabled"));
+             */
         }
     }
 
+    protected void restoreDescendantState() {
+        final FacesContext context = FacesContext.getCurrentInstance();
+        final List<EditableValueHolder> inputs = getEditableDescendants();
+        resetDescendantIds();
+        if (inputs.isEmpty()) {
+            return;
+        }
+
+        final SavedDescendantStates savedStates = getSavedDescendantStates(getContainerClientId(context));
+        final SavedEditableValueState[] states = savedStates != null ? savedStates.states : null;
+
+        for (int i = 0; i < inputs.size(); i++) {
+            final EditableValueHolder input = inputs.get(i);
+            final SavedEditableValueState state = states != null ? states[i] : null;
+
+            if (state == null) {
+                input.setValue(null);
+                input.setValid(true);
+                input.setSubmittedValue(null);
+                input.setLocalValueSet(false);
+                continue;
+            }
+
+            input.setValue(state.getValue());
+            input.setValid(state.isValid());
+            input.setSubmittedValue(state.getSubmittedValue());
+            input.setLocalValueSet(state.isLocalValueSet());
+            if (state.getLabelValue() != null) {
+                ((UIComponent) input).getAttributes().put(Attrs.LABEL, state.getLabelValue());
+            }
+
+            // currently we can't save/restore the disabled: See #571 #644
+            // we also can't change it easily as the var is not not exposed at this time; it would need some refactoring
+            /*
+             * if (state.getDisabled() != null) { ((UIComponent) input).getAttributes().put("disabled", state.getDisabled()); }
+             */
+        }
+    }
+
+    /**
+     * Saves the state of the given component and its descendants keyed by their client ids.
+     *
+     * @param context the FacesContext
+     * @param component the component
+     * @deprecated no longer called by {@link #saveDescendantState()}, which saves the states of all editable descendants by their position
+     */
+    @Deprecated
     protected void saveDescendantState(final FacesContext context, final UIComponent component) {
         // force id reset
         component.setId(component.getId());
 
-        final Map<String, SavedEditableValueState> saved = (Map<String, SavedEditableValueState>) getStateHelper()
-                    .get(PropertyKeys.saved);
-
         if (component instanceof EditableValueHolder) {
             final EditableValueHolder input = (EditableValueHolder) component;
-            SavedEditableValueState state = null;
             final String id = component.getClientId(context);
 
-            if (saved == null) {
+            final Map<String, Object> saved = (Map<String, Object>) getStateHelper().get(PropertyKeys.saved);
+            final Object savedState = saved != null ? saved.get(id) : null;
+            SavedEditableValueState state = savedState instanceof SavedEditableValueState ? (SavedEditableValueState) savedState : null;
+            if (state == null) {
                 state = new SavedEditableValueState();
                 getStateHelper().put(PropertyKeys.saved, id, state);
             }
 
-            if (state == null) {
-                state = saved.get(clientId);
-
-                if (state == null) {
-                    state = new SavedEditableValueState();
-                    getStateHelper().put(PropertyKeys.saved, id, state);
-                }
-            }
-
             state.setValue(input.getLocalValue());
             state.setValid(input.isValid());
             state.setSubmittedValue(input.getSubmittedValue());
             state.setLocalValueSet(input.isLocalValueSet());
             state.setLabelValue(((UIComponent) input).getAttributes().get(Attrs.LABEL));
-
-            // currently we can't save/restore the disabled: See #571 #644
-            // we also can't change it easily as the var is not not exposed at this time; it would need some refactoring
-            /*
-             * state.setDisabled(((UIComponent) input).getAttributes().get("disabled"));
-             */
         }
 
         for (final UIComponent child : component.getChildren()) {
@@ -589,27 +710,26 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
         }
     }
 
-    protected void restoreDescendantState() {
-        for (final UIComponent child : getChildren()) {
-            restoreDescendantState(FacesContext.getCurrentInstance(), child);
-        }
-    }
-
+    /**
+     * Restores the state of the given component and its descendants saved by {@link #saveDescendantState(FacesContext, UIComponent)}.
+     *
+     * @param context the FacesContext
+     * @param component the component
+     * @deprecated no longer called by {@link #restoreDescendantState()}, which restores the states of all editable descendants by their position
+     */
+    @Deprecated
     protected void restoreDescendantState(final FacesContext context, final UIComponent component) {
         // force id reset
         component.setId(component.getId());
 
-        final Map<String, SavedEditableValueState> saved = (Map<String, SavedEditableValueState>) getStateHelper()
-                    .get(PropertyKeys.saved);
-
         if (component instanceof EditableValueHolder) {
             final EditableValueHolder input = (EditableValueHolder) component;
             final String id = component.getClientId(context);
 
-            SavedEditableValueState state = saved.get(id);
-            if (state == null) {
-                state = new SavedEditableValueState();
-            }
+            final Map<String, Object> saved = (Map<String, Object>) getStateHelper().get(PropertyKeys.saved);
+            final Object savedState = saved != null ? saved.get(id) : null;
+            final SavedEditableValueState state = savedState instanceof SavedEditableValueState ? (SavedEditableValueState) savedState
+                        : new SavedEditableValueState();
 
             input.setValue(state.getValue());
             input.setValid(state.isValid());
@@ -618,12 +738,6 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
             if (state.getLabelValue() != null) {
                 ((UIComponent) input).getAttributes().put(Attrs.LABEL, state.getLabelValue());
             }
-
-            // currently we can't save/restore the disabled: See #571 #644
-            // we also can't change it easily as the var is not not exposed at this time; it would need some refactoring
-            /*
-             * if (state.getDisabled() != null) { ((UIComponent) input).getAttributes().put("disabled", state.getDisabled()); }
-             */
         }
 
         for (final UIComponent child : component.getChildren()) {
@@ -636,4 +750,111 @@ public abstract class AbstractDynamicData extends UIComponentBase implements Nam
             }
         }
     }
+
+    /**
+     * Gets the saved states of the editable descendants for the given container client id. States saved for another component tree, i.e. with other ids
+     * of the editable descendants, are ignored.
+     *
+     * @param key the container client id of the data item
+     * @return the saved states or null
+     */
+    private SavedDescendantStates getSavedDescendantStates(final String key) {
+        final Map<String, Object> saved = (Map<String, Object>) getStateHelper().get(PropertyKeys.saved);
+        final Object savedState = saved != null ? saved.get(key) : null;
+        if (savedState instanceof SavedDescendantStates) {
+            final SavedDescendantStates savedStates = (SavedDescendantStates) savedState;
+            getDescendants();
+            if (Arrays.equals(savedStates.ids, editableDescendantIds)) {
+                return savedStates;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Forces the recalculation of the client ids of all descendants, they depend on the current data.
+     */
+    protected void resetDescendantIds() {
+        for (final UIComponent descendant : getDescendants()) {
+            descendant.setId(descendant.getId());
+        }
+    }
+
+    /**
+     * Gets all children, facets and their descendants in tree order. The list is cached until {@link #resetDescendantCache()} is called at the beginning
+     * of each lifecycle phase.
+     *
+     * @return the descendants
+     */
+    protected List<UIComponent> getDescendants() {
+        if (descendants == null) {
+            descendants = new ArrayList<>();
+            editableDescendants = new ArrayList<>();
+            for (final UIComponent child : getChildren()) {
+                collectDescendants(child);
+            }
+
+            editableDescendantIds = new String[editableDescendants.size()];
+            for (int i = 0; i < editableDescendantIds.length; i++) {
+                editableDescendantIds[i] = ((UIComponent) editableDescendants.get(i)).getId();
+            }
+        }
+
+        return descendants;
+    }
+
+    /**
+     * Gets the descendants implementing {@link EditableValueHolder} in tree order. The position in this list identifies the saved state of a descendant
+     * for each data key.
+     *
+     * @return the editable descendants
+     */
+    protected List<EditableValueHolder> getEditableDescendants() {
+        getDescendants();
+
+        return editableDescendants;
+    }
+
+    protected void resetDescendantCache() {
+        descendants = null;
+        editableDescendants = null;
+        editableDescendantIds = null;
+    }
+
+    private void collectDescendants(final UIComponent component) {
+        descendants.add(component);
+        if (component instanceof EditableValueHolder) {
+            editableDescendants.add((EditableValueHolder) component);
+        }
+
+        if (component.getChildCount() > 0) {
+            for (final UIComponent child : component.getChildren()) {
+                collectDescendants(child);
+            }
+        }
+
+        if (component.getFacetCount() > 0) {
+            for (final UIComponent facet : component.getFacets().values()) {
+                collectDescendants(facet);
+            }
+        }
+    }
+
+    /**
+     * Saved states of the editable descendants for one data item. The ids of the descendants are kept as signature of the component tree the states
+     * belong to.
+     */
+    private static final class SavedDescendantStates implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] ids;
+        private final SavedEditableValueState[] states;
+
+        SavedDescendantStates(final String[] ids) {
+            this.ids = ids;
+            states = new SavedEditableValueState[ids.length];
+        }
+    }
 }
@@ -15,9 +15,11 @@
  */
 package org.primefaces.extensions.component.dynaform;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.faces.FacesException;
 import javax.faces.application.ResourceDependency;
@@ -28,6 +30,7 @@ import javax.faces.component.visit.VisitCallback;
 import javax.faces.component.visit.VisitContext;
 import javax.faces.context.FacesContext;
 import javax.faces.event.PhaseId;
+import javax.faces.render.Renderer;
 
 import org.primefaces.component.api.Widget;
 import org.primefaces.extensions.component.base.AbstractDynamicData;
@@ -54,6 +57,7 @@ public class DynaForm extends AbstractDynamicData implements Widget {
     private static final String DEFAULT_RENDERER = "org.primefaces.extensions.component.DynaFormRenderer";
 
     private Map<String, UIDynaFormControl> cells;
+    private boolean encodingCells;
 
     /**
      * Properties that are tracked by state saving.
@@ -164,6 +168,35 @@ public class DynaForm extends AbstractDynamicData implements Widget {
         return cells;
     }
 
+    boolean isEncodingCells() {
+        return encodingCells;
+    }
+
+    void setEncodingCells(final boolean encodingCells) {
+        this.encodingCells = encodingCells;
+    }
+
+    /**
+     * Encodes the table cell of the current control on its own, e.g. for an Ajax update targeting the control's cell.
+     *
+     * @param context faces context {@link FacesContext}
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeControl(final FacesContext context) throws IOException {
+        final Renderer renderer = getRenderer(context);
+        if (!(renderer instanceof DynaFormRenderer)) {
+            throw new FacesException("Single controls can only be updated with the DynaFormRenderer");
+        }
+
+        encodingCells = true;
+        try {
+            ((DynaFormRenderer) renderer).encodeControl(context, this, (DynaFormModel) getValue(), (DynaFormControl) getData());
+        }
+        finally {
+            encodingCells = false;
+        }
+    }
+
     protected static void checkModelInstance(Object value) {
         if (!(value instanceof DynaFormModel)) {
             throw new FacesException("Value in DynaForm must be of type DynaFormModel");
@@ -179,14 +212,7 @@ public class DynaForm extends AbstractDynamicData implements Widget {
 
         checkModelInstance(value);
 
-        final List<DynaFormControl> dynaFormControls = ((DynaFormModel) value).getControls();
-        for (final DynaFormControl dynaFormControl : dynaFormControls) {
-            if (key.equals(dynaFormControl.getKey())) {
-                return dynaFormControl;
-            }
-        }
-
-        return null;
+        return ((DynaFormModel) value).getControl(key);
     }
 
     @Override
@@ -213,10 +239,22 @@ public class DynaForm extends AbstractDynamicData implements Widget {
 
         checkModelInstance(value);
 
-        final List<DynaFormControl> dynaFormControls = ((DynaFormModel) value).getControls();
-        for (final DynaFormControl dynaFormControl : dynaFormControls) {
-            if (visitDynaFormCells(context, callback, dynaFormControl)) {
-                return true;
+        final DynaFormModel model = (DynaFormModel) value;
+        final Set<String> keys = getKeysToVisit(context);
+        if (keys == null) {
+            for (final DynaFormControl dynaFormControl : model.getControls()) {
+                if (visitDynaFormCells(context, callback, dynaFormControl)) {
+                    return true;
+                }
+            }
+        }
+        else {
+            // only visit the controls containing the targeted components
+            for (final String key : keys) {
+                final DynaFormControl dynaFormControl = model.getControl(key);
+                if (dynaFormControl != null && visitDynaFormCells(context, callback, dynaFormControl)) {
+                    return true;
+                }
             }
         }
 
@@ -240,29 +278,24 @@ public class DynaForm extends AbstractDynamicData implements Widget {
             String key = clientId.substring(getClientId().length() + 1);
             key = key.substring(0, key.indexOf(UINamingContainer.getSeparatorChar(context)));
 
-            final List<DynaFormControl> dynaFormControls = ((DynaFormModel) value).getControls();
-            for (final DynaFormControl dynaFormControl : dynaFormControls) {
-
-                // determine associated DynaFormControl
-                if (dynaFormControl.getKey().equals(key)) {
+            // determine associated DynaFormControl
+            final DynaFormControl dynaFormControl = ((DynaFormModel) value).getControl(key);
+            if (dynaFormControl != null) {
 
-                    // get UI control for DynaFormControl
-                    final UIDynaFormControl uiDynaFormControl = getControlCell(dynaFormControl.getType());
+                // get UI control for DynaFormControl
+                final UIDynaFormControl uiDynaFormControl = getControlCell(dynaFormControl.getType());
 
-                    try {
-                        // push the associated data before visiting the child components
-                        setData(dynaFormControl);
+                try {
+                    // push the associated data before visiting the child components
+                    setData(dynaFormControl);
 
-                        // visit childs
-                        if (uiDynaFormControl.invokeOnComponent(context, clientId, callback)) {
-                            return true;
-                        }
-                    }
-                    finally {
-                        resetData();
+                    // visit childs
+                    if (uiDynaFormControl.invokeOnComponent(context, clientId, callback)) {
+                        return true;
                     }
-
-                    break;
+                }
+                finally {
+                    resetData();
                 }
             }
         }
@@ -16,6 +16,7 @@
 package org.primefaces.extensions.component.dynaform;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
@@ -85,10 +86,68 @@ public class DynaFormRenderer extends CoreRenderer {
 
         // get model
         final DynaFormModel dynaFormModel = (DynaFormModel) dynaForm.getValue();
-        encodeMarkup(fc, dynaForm, dynaFormModel, false);
+        dynaForm.setEncodingCells(true);
+        try {
+            encodeMarkup(fc, dynaForm, dynaFormModel, false);
+        }
+        finally {
+            dynaForm.setEncodingCells(false);
+        }
         encodeScript(fc, dynaForm, dynaFormModel);
     }
 
+    /**
+     * Encodes the table cell of a single control, e.g. for an Ajax update targeting the control's cell. The other cells are not touched.
+     *
+     * @param fc faces context {@link FacesContext}
+     * @param dynaForm the DynaForm
+     * @param dynaFormModel the model
+     * @param control the control to encode
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeControl(final FacesContext fc, final DynaForm dynaForm, final DynaFormModel dynaFormModel, final DynaFormControl control)
+                throws IOException {
+        final ResponseWriter writer = fc.getResponseWriter();
+        final List<AbstractDynaFormElement> elements = findRowElements(dynaFormModel, control);
+        final int size = elements.size();
+
+        writer.startElement("td", null);
+        final String styleClass = startCell(writer, control, elements.indexOf(control), size);
+        renderControl(fc, dynaForm, writer, getColumnClasses(dynaForm)[1], control, styleClass);
+        writer.endElement("td");
+    }
+
+    /**
+     * Finds the elements of the row containing the given control, the control can also be in a nested model.
+     *
+     * @param dynaFormModel the model
+     * @param control the control
+     * @return List the row elements or an empty list if the control is not in the model
+     */
+    protected List<AbstractDynaFormElement> findRowElements(final DynaFormModel dynaFormModel, final DynaFormControl control) {
+        final List<DynaFormRow> rows = new ArrayList<>(dynaFormModel.getRegularRows());
+        if (dynaFormModel.getExtendedRows() != null) {
+            rows.addAll(dynaFormModel.getExtendedRows());
+        }
+
+        for (final DynaFormRow row : rows) {
+            for (final AbstractDynaFormElement element : row.getElements()) {
+                if (element == control) {
+                    return row.getElements();
+                }
+
+                if (element instanceof DynaFormModelElement) {
+                    final List<AbstractDynaFormElement> elements = findRowElements(((DynaFormModelElement) element).getModel(), control);
+                    if (!elements.isEmpty()) {
+                        return elements;
+                    }
+                }
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
     protected void encodeMarkup(final FacesContext fc, final DynaForm dynaForm, final DynaFormModel dynaFormModel, final boolean nestedGrid)
                 throws IOException {
         final ResponseWriter writer = fc.getResponseWriter();
@@ -198,10 +257,9 @@ public class DynaFormRenderer extends CoreRenderer {
 
         final ResponseWriter writer = fc.getResponseWriter();
 
-        final String columnClassesValue = dynaForm.getColumnClasses();
-        final String[] columnClasses = columnClassesValue == null ? EMPTY_COLUMN_CLASSES : columnClassesValue.split(",");
-        final String labelCommonClass = columnClasses[0].trim();
-        final String controlCommonClass = columnClasses.length > 1 ? columnClasses[1].trim() : EMPTY_COLUMN_CLASSES[1];
+        final String[] columnClasses = getColumnClasses(dynaForm);
+        final String labelCommonClass = columnClasses[0];
+        final String controlCommonClass = columnClasses[1];
 
         for (final DynaFormRow dynaFormRow : dynaFormRows) {
             writer.startElement("tr", null);
@@ -222,22 +280,7 @@ public class DynaFormRenderer extends CoreRenderer {
                 final AbstractDynaFormElement element = elements.get(i);
 
                 writer.startElement("td", null);
-                if (element.getColspan() > 1) {
-                    writer.writeAttribute("colspan", element.getColspan(), null);
-                }
-
-                if (element.getRowspan() > 1) {
-                    writer.writeAttribute("rowspan", element.getRowspan(), null);
-                }
-
-                String styleClass = CELL_CLASS;
-                if (i == 0 && element.getColspan() == 1) {
-                    styleClass = styleClass + " " + CELL_FIRST_CLASS;
-                }
-
-                if (i == size - 1 && element.getColspan() == 1) {
-                    styleClass = styleClass + " " + CELL_LAST_CLASS;
-                }
+                final String styleClass = startCell(writer, element, i, size);
 
                 if (element instanceof DynaFormLabel) {
                     renderLabel(writer, labelCommonClass, (DynaFormLabel) element, styleClass);
@@ -258,6 +301,54 @@ public class DynaFormRenderer extends CoreRenderer {
         dynaForm.resetData();
     }
 
+    /**
+     * Writes the span attributes of an opened table cell.
+     *
+     * @param writer the ResponseWriter
+     * @param element the element in the cell
+     * @param index index of the element in its row
+     * @param size number of elements in the row
+     * @return String the style class of the cell
+     * @throws IOException if any IO error occurs
+     */
+    protected String startCell(final ResponseWriter writer, final AbstractDynaFormElement element, final int index, final int size)
+                throws IOException {
+        if (element.getColspan() > 1) {
+            writer.writeAttribute("colspan", element.getColspan(), null);
+        }
+
+        if (element.getRowspan() > 1) {
+            writer.writeAttribute("rowspan", element.getRowspan(), null);
+        }
+
+        String styleClass = CELL_CLASS;
+        if (index == 0 && element.getColspan() == 1) {
+            styleClass = styleClass + " " + CELL_FIRST_CLASS;
+        }
+
+        if (index == size - 1 && element.getColspan() == 1) {
+            styleClass = styleClass + " " + CELL_LAST_CLASS;
+        }
+
+        return styleClass;
+    }
+
+    /**
+     * Gets the common style classes of label and control cells.
+     *
+     * @param dynaForm the DynaForm
+     * @return String[] the label class and the control class
+     */
+    protected String[] getColumnClasses(final DynaForm dynaForm) {
+        final String columnClassesValue = dynaForm.getColumnClasses();
+        if (columnClassesValue == null) {
+            return EMPTY_COLUMN_CLASSES;
+        }
+
+        final String[] columnClasses = columnClassesValue.split(",");
+        return new String[] {columnClasses[0].trim(), columnClasses.length > 1 ? columnClasses[1].trim() : Constants.EMPTY_STRING};
+    }
+
     protected void renderNestedModel(
                 final FacesContext fc, final DynaForm dynaForm, final ResponseWriter writer, final DynaFormModelElement element, final String styleClass)
                 throws IOException {
@@ -276,6 +367,9 @@ public class DynaFormRenderer extends CoreRenderer {
         // find control's cell by type
         final UIDynaFormControl cell = dynaForm.getControlCell(element.getType());
 
+        // the id makes single controls updatable
+        writer.writeAttribute("id", cell.getClientId(fc), null);
+
         if (cell.getStyle() != null) {
             writer.writeAttribute(Attrs.STYLE, cell.getStyle(), null);
         }
@@ -15,7 +15,11 @@
  */
 package org.primefaces.extensions.component.dynaform;
 
+import java.io.IOException;
+
+import javax.faces.component.UIComponent;
 import javax.faces.component.UIComponentBase;
+import javax.faces.context.FacesContext;
 
 import org.primefaces.extensions.model.dynaform.DynaFormControl;
 
@@ -65,6 +69,19 @@ public class UIDynaFormControl extends UIComponentBase {
         return COMPONENT_FAMILY;
     }
 
+    @Override
+    public void encodeAll(final FacesContext context) throws IOException {
+        final UIComponent parent = getParent();
+        if (isRendered() && parent instanceof DynaForm && !((DynaForm) parent).isEncodingCells()
+                    && ((DynaForm) parent).getData() instanceof DynaFormControl) {
+            // partial update of this control, render the whole table cell
+            ((DynaForm) parent).encodeControl(context);
+        }
+        else {
+            super.encodeAll(context);
+        }
+    }
+
     public void setType(final String type) {
         getStateHelper().put(PropertyKeys.type, type);
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import org.primefaces.model.LazyDataModel;
+
+/**
+ * Implemented by a {@link LazyDataModel} whose table can be exported asynchronously. The export job loads the rows on a pool thread, without a FacesContext
+ * and while the view keeps using its own model, so the view scoped model itself is never handed to the job.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public interface AsyncExportable {
+
+    /**
+     * Creates the model loading the rows of an asynchronous export. Its load method is called on another thread, concurrently with the requests of the
+     * view, so it must not depend on view, request or session scoped state nor on the FacesContext. A model which is thread-safe and detached already may
+     * return itself.
+     *
+     * @return the model used by the export job
+     */
+    LazyDataModel<?> detachForExport();
+}
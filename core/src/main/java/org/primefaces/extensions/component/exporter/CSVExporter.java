@@ -0,0 +1,125 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+import org.primefaces.util.LangUtils;
+
+/**
+ * Exports tables as comma separated values (RFC 4180). Header and footer facets are written as rows, multiple tables are separated by an empty line.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public class CSVExporter extends TextExporter {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private boolean firstTable = true;
+
+    @Override
+    protected String getContentType() {
+        return "text/csv";
+    }
+
+    @Override
+    protected String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    protected void startTable(final Writer writer, final String title, final List<String> headers) throws IOException {
+        if (!firstTable) {
+            writer.write(LINE_SEPARATOR);
+        }
+        firstTable = false;
+
+        if (title != null) {
+            writeRow(writer, Collections.singletonList(title));
+        }
+        if (hasText(headers)) {
+            writeRow(writer, headers);
+        }
+    }
+
+    @Override
+    protected void writeRow(final Writer writer, final List<String> values) throws IOException {
+        final String separator = LangUtils.isValueEmpty(delimiter) ? "," : delimiter;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            writeField(writer, values.get(i), separator);
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    protected void endTable(final Writer writer, final List<String> footers) throws IOException {
+        if (hasText(footers)) {
+            writeRow(writer, footers);
+        }
+    }
+
+    protected void writeField(final Writer writer, final String value, final String separator) throws IOException {
+        final String field = value == null ? "" : value;
+        final boolean quote;
+        if ("all".equalsIgnoreCase(quoting)) {
+            quote = true;
+        }
+        else if ("none".equalsIgnoreCase(quoting)) {
+            quote = false;
+        }
+        else {
+            quote = field.contains(separator) || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        }
+
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        int start = 0;
+        int quoteIndex = field.indexOf('"');
+        while (quoteIndex >= 0) {
+            // double embedded quotes
+            writer.write(field, start, quoteIndex - start + 1);
+            writer.write('"');
+            start = quoteIndex + 1;
+            quoteIndex = field.indexOf('"', start);
+        }
+        writer.write(field, start, field.length() - start);
+        writer.write('"');
+    }
+
+    private static boolean hasText(final List<String> texts) {
+        if (texts != null) {
+            for (final String text : texts) {
+                if (!LangUtils.isValueEmpty(text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
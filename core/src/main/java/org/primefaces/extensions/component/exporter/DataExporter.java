@@ -26,6 +26,7 @@ import javax.faces.context.FacesContext;
 import javax.faces.event.ActionEvent;
 import javax.faces.event.ActionListener;
 
+import org.primefaces.PrimeFaces;
 import org.primefaces.util.Constants;
 
 /**
@@ -80,6 +81,20 @@ public class DataExporter implements ActionListener, StateHolder {
 
     private ValueExpression skipComponents;
 
+    private ValueExpression streaming;
+
+    private ValueExpression chunkSize;
+
+    private ValueExpression delimiter;
+
+    private ValueExpression quoting;
+
+    private ValueExpression gzip;
+
+    private ValueExpression async;
+
+    private ValueExpression parallel;
+
     public DataExporter() {
     }
 
@@ -208,11 +223,68 @@ public class DataExporter implements ActionListener, StateHolder {
         if (skipComponents != null) {
             skipComponentsValue = (String) skipComponents.getValue(elContext);
         }
+        int chunkSizeValue = 0;
+        if (chunkSize != null) {
+            final Object value = chunkSize.getValue(elContext);
+            if (value != null) {
+                chunkSizeValue = Integer.parseInt(value.toString());
+            }
+        }
+        boolean isStreaming = false;
+        if (streaming != null) {
+            isStreaming = streaming.isLiteralText() ? Boolean.valueOf(streaming.getValue(context.getELContext()).toString())
+                        : (Boolean) streaming.getValue(context.getELContext());
+        }
+        String delimiterValue = ",";
+        if (delimiter != null) {
+            delimiterValue = (String) delimiter.getValue(elContext);
+        }
+        String quotingValue = "minimal";
+        if (quoting != null) {
+            quotingValue = (String) quoting.getValue(elContext);
+        }
+        boolean isGzip = false;
+        if (gzip != null) {
+            isGzip = gzip.isLiteralText() ? Boolean.valueOf(gzip.getValue(context.getELContext()).toString())
+                        : (Boolean) gzip.getValue(context.getELContext());
+        }
+        boolean isAsync = false;
+        if (async != null) {
+            isAsync = async.isLiteralText() ? Boolean.valueOf(async.getValue(context.getELContext()).toString())
+                        : (Boolean) async.getValue(context.getELContext());
+        }
+        boolean isParallel = false;
+        if (parallel != null) {
+            isParallel = parallel.isLiteralText() ? Boolean.valueOf(parallel.getValue(context.getELContext()).toString())
+                        : (Boolean) parallel.getValue(context.getELContext());
+        }
 
         try {
             final ExporterFactory factory = ExporterFactoryProvider.getExporterFactory(context);
             final Exporter exporter = factory.getExporterForType(exportAs);
             exporter.setSkipComponents(skipComponentsValue);
+            exporter.setStreaming(isStreaming);
+            exporter.setChunkSize(chunkSizeValue);
+            if (exporter instanceof TextExporter) {
+                final TextExporter textExporter = (TextExporter) exporter;
+                textExporter.setDelimiter(delimiterValue);
+                textExporter.setQuoting(quotingValue);
+                textExporter.setGzip(isGzip);
+            }
+            exporter.setParallel(isParallel);
+
+            if (isAsync && !isPageOnly && !isSelectionOnly) {
+                // the response stays a regular (ajax) response which starts polling the job
+                if (!(exporter instanceof TextExporter)) {
+                    throw new FacesException("Asynchronous exports are supported for the types \"csv\" and \"jsonl\" only.");
+                }
+                final ExportJob job = ((TextExporter) exporter).createJob(event, tableId, context, outputFileName, tableTitleValue, encodingType);
+                final ExportJobManager manager = ExportJobManager.getInstance(context);
+                manager.submit(job);
+                PrimeFaces.current().executeScript(manager.getPollingScript(context, job));
+                return;
+            }
+
             exporter.customFormat(facetBackgroundValue, facetFontSizeValue, facetFontColorValue, facetFontStyleValue, fontNameValue, cellFontSizeValue,
                         cellFontColorValue, cellFontStyleValue, datasetPaddingValue, orientationValue);
             exporter.export(event, tableId, context, outputFileName, tableTitleValue, isPageOnly, isSelectionOnly, encodingType, preProcessor,
@@ -225,6 +297,34 @@ public class DataExporter implements ActionListener, StateHolder {
         }
     }
 
+    public void setStreaming(final ValueExpression streaming) {
+        this.streaming = streaming;
+    }
+
+    public void setChunkSize(final ValueExpression chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void setDelimiter(final ValueExpression delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public void setQuoting(final ValueExpression quoting) {
+        this.quoting = quoting;
+    }
+
+    public void setGzip(final ValueExpression gzip) {
+        this.gzip = gzip;
+    }
+
+    public void setAsync(final ValueExpression async) {
+        this.async = async;
+    }
+
+    public void setParallel(final ValueExpression parallel) {
+        this.parallel = parallel;
+    }
+
     @Override
     public boolean isTransient() {
         return false;
@@ -260,11 +360,18 @@ public class DataExporter implements ActionListener, StateHolder {
         datasetPadding = (ValueExpression) values[18];
         orientation = (ValueExpression) values[19];
         skipComponents = (ValueExpression) values[20];
+        streaming = (ValueExpression) values[21];
+        chunkSize = (ValueExpression) values[22];
+        delimiter = (ValueExpression) values[23];
+        quoting = (ValueExpression) values[24];
+        gzip = (ValueExpression) values[25];
+        async = (ValueExpression) values[26];
+        parallel = (ValueExpression) values[27];
     }
 
     @Override
     public Object saveState(final FacesContext context) {
-        final Object[] values = new Object[21];
+        final Object[] values = new Object[28];
 
         values[0] = target;
         values[1] = type;
@@ -287,6 +394,13 @@ public class DataExporter implements ActionListener, StateHolder {
         values[18] = datasetPadding;
         values[19] = orientation;
         values[20] = skipComponents;
+        values[21] = streaming;
+        values[22] = chunkSize;
+        values[23] = delimiter;
+        values[24] = quoting;
+        values[25] = gzip;
+        values[26] = async;
+        values[27] = parallel;
 
         return values;
     }
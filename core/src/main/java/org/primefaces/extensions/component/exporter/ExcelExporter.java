@@ -37,6 +37,7 @@ import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
 import org.primefaces.component.api.DynamicColumn;
 import org.primefaces.component.api.UIColumn;
@@ -60,10 +61,25 @@ import org.primefaces.util.Constants;
 @Deprecated
 public class ExcelExporter extends Exporter {
 
-    private XSSFWorkbook wb;
+    /**
+     * Number of rows a streaming export keeps in memory, older rows are flushed to a temp file.
+     */
+    protected static final int STREAMING_ROW_WINDOW = 100;
+
+    /**
+     * Number of rows a streaming export samples to size the columns.
+     */
+    protected static final int AUTO_SIZE_SAMPLE_ROWS = 100;
+
+    private Workbook wb;
+
+    private int[] sampledWidths;
+
+    private ExcelStylePool stylePool;
 
     private CellStyle cellStyle;
     private CellStyle facetStyle;
+    private CellStyle titleStyle;
     private Color facetBackground;
     private Short facetFontSize;
     private Color facetFontColor;
@@ -87,134 +103,152 @@ public class ExcelExporter extends Exporter {
                 final String encodingType, final MethodExpression preProcessor, final MethodExpression postProcessor, final boolean subTable)
                 throws IOException {
 
-        wb = new XSSFWorkbook();
-        final String safeName = WorkbookUtil.createSafeSheetName(filename);
-        final Sheet sheet = wb.createSheet(safeName);
+        if (streaming) {
+            // inline strings keep the shared strings table from growing with the row count
+            wb = new SXSSFWorkbook(null, STREAMING_ROW_WINDOW, true, false);
+            sampledWidths = new int[0];
+        }
+        else {
+            wb = new XSSFWorkbook();
+        }
+        try {
+            final String safeName = WorkbookUtil.createSafeSheetName(filename);
+            final Sheet sheet = wb.createSheet(safeName);
 
-        cellStyle = wb.createCellStyle();
-        facetStyle = wb.createCellStyle();
-        final CellStyle titleStyle = wb.createCellStyle();
+            stylePool = new ExcelStylePool(wb);
+            createCustomFonts();
 
-        facetStyleLeftAlign = wb.createCellStyle();
-        facetStyleCenterAlign = wb.createCellStyle();
-        facetStyleRightAlign = wb.createCellStyle();
-        cellStyleLeftAlign = wb.createCellStyle();
-        cellStyleCenterAlign = wb.createCellStyle();
-        cellStyleRightAlign = wb.createCellStyle();
+            if (preProcessor != null) {
+                preProcessor.invoke(context.getELContext(), new Object[] {wb});
+            }
 
-        createCustomFonts();
+            if (parallel && !pageOnly && !selectionOnly && !subTable) {
+                prefetchLazyData(context, event.getComponent(), tableId);
+            }
 
-        if (preProcessor != null) {
-            preProcessor.invoke(context.getELContext(), new Object[] {wb});
-        }
+            int maxColumns = 0;
+            try {
+                final String tokenString = ExtLangUtils.normalizeSpace(tableId.replace(',', ' '));
+                final StringTokenizer st = new StringTokenizer(tokenString, " ");
+                while (st.hasMoreElements()) {
+                    final String tableName = (String) st.nextElement();
+                    final UIComponent component = SearchExpressionFacade.resolveComponent(context, event.getComponent(), tableName);
+                    if (component == null) {
+                        throw new FacesException("Cannot find component \"" + tableName + "\" in view.");
+                    }
+                    if (!(component instanceof DataTable || component instanceof DataList)) {
+                        throw new FacesException(
+                                    "Unsupported datasource target:\"" + component.getClass().getName()
+                                                + "\", exporter must target a PrimeFaces DataTable/DataList.");
+                    }
+                    if (!component.isRendered()) {
+                        continue;
+                    }
 
-        int maxColumns = 0;
-        final String tokenString = ExtLangUtils.normalizeSpace(tableId.replace(',', ' '));
-        final StringTokenizer st = new StringTokenizer(tokenString, " ");
-        while (st.hasMoreElements()) {
-            final String tableName = (String) st.nextElement();
-            final UIComponent component = SearchExpressionFacade.resolveComponent(context, event.getComponent(), tableName);
-            if (component == null) {
-                throw new FacesException("Cannot find component \"" + tableName + "\" in view.");
-            }
-            if (!(component instanceof DataTable || component instanceof DataList)) {
-                throw new FacesException(
-                            "Unsupported datasource target:\"" + component.getClass().getName() + "\", exporter must target a PrimeFaces DataTable/DataList.");
-            }
-            if (!component.isRendered()) {
-                continue;
-            }
+                    final DataList list;
+                    final DataTable table;
 
-            final DataList list;
-            final DataTable table;
+                    if (tableTitle != null && !tableTitle.isEmpty() && !tableId.contains(",")) {
+                        int lastRowNum = sheet.getLastRowNum();
+                        if (lastRowNum < 0) {
+                            lastRowNum = 0;
+                        }
+                        final Row titleRow = sheet.createRow(lastRowNum);
+                        final int cellIndex = titleRow.getLastCellNum() == -1 ? 0 : titleRow.getLastCellNum();
+                        final Cell cell = titleRow.createCell(cellIndex);
+                        cell.setCellValue(new XSSFRichTextString(tableTitle));
+                        cell.setCellStyle(titleStyle);
+                        sheet.createRow(lastRowNum + 3);
+                    }
+                    if (component instanceof DataList) {
+                        list = (DataList) component;
 
-            if (tableTitle != null && !tableTitle.isEmpty() && !tableId.contains(",")) {
-                int lastRowNum = sheet.getLastRowNum();
-                if (lastRowNum < 0) {
-                    lastRowNum = 0;
-                }
-                final Row titleRow = sheet.createRow(lastRowNum);
-                final int cellIndex = titleRow.getLastCellNum() == -1 ? 0 : titleRow.getLastCellNum();
-                final Cell cell = titleRow.createCell(cellIndex);
-                cell.setCellValue(new XSSFRichTextString(tableTitle));
-                final Font titleFont = wb.createFont();
-                titleFont.setBold(true);
-                titleStyle.setFont(titleFont);
-                cell.setCellStyle(titleStyle);
-                sheet.createRow(lastRowNum + 3);
-            }
-            if (component instanceof DataList) {
-                list = (DataList) component;
+                        if (list.getHeader() != null) {
+                            tableFacet(context, sheet, list);
+                        }
+                        if (pageOnly) {
+                            exportPageOnly(list, sheet);
+                        }
+                        else {
+                            exportAll(list, sheet);
+                        }
+                    }
+                    else {
 
-                if (list.getHeader() != null) {
-                    tableFacet(context, sheet, list);
-                }
-                if (pageOnly) {
-                    exportPageOnly(list, sheet);
-                }
-                else {
-                    exportAll(list, sheet);
-                }
-            }
-            else {
+                        table = (DataTable) component;
+                        final int columnsCount = Exporter.getColumnsCount(table);
 
-                table = (DataTable) component;
-                final int columnsCount = Exporter.getColumnsCount(table);
+                        if (table.getHeader() != null && !subTable) {
+                            tableFacet(context, sheet, table, columnsCount, ColumnType.HEADER.facet());
 
-                if (table.getHeader() != null && !subTable) {
-                    tableFacet(context, sheet, table, columnsCount, ColumnType.HEADER.facet());
+                        }
+                        if (!subTable) {
+                            tableColumnGroup(sheet, table, ColumnType.HEADER.facet());
+                        }
 
-                }
-                if (!subTable) {
-                    tableColumnGroup(sheet, table, ColumnType.HEADER.facet());
-                }
+                        addColumnFacets(table, sheet, ColumnType.HEADER);
 
-                addColumnFacets(table, sheet, ColumnType.HEADER);
+                        if (pageOnly) {
+                            exportPageOnly(table, sheet);
+                        }
+                        else if (selectionOnly) {
+                            exportSelectionOnly(context, table, sheet);
+                        }
+                        else {
+                            exportAll(context, table, sheet, subTable);
+                        }
 
-                if (pageOnly) {
-                    exportPageOnly(table, sheet);
-                }
-                else if (selectionOnly) {
-                    exportSelectionOnly(context, table, sheet);
-                }
-                else {
-                    exportAll(context, table, sheet, subTable);
-                }
+                        if (table.hasFooterColumn() && !subTable) {
+                            addColumnFacets(table, sheet, ColumnType.FOOTER);
+                        }
+                        if (!subTable) {
+                            tableColumnGroup(sheet, table, ColumnType.FOOTER.facet());
+                        }
+                        table.setRowIndex(-1);
 
-                if (table.hasFooterColumn() && !subTable) {
-                    addColumnFacets(table, sheet, ColumnType.FOOTER);
-                }
-                if (!subTable) {
-                    tableColumnGroup(sheet, table, ColumnType.FOOTER.facet());
+                        final int cols = table.getColumnsCount();
+
+                        if (maxColumns < cols) {
+                            maxColumns = cols;
+                        }
+                    }
+                    sheet.createRow(sheet.getLastRowNum() + Integer.parseInt(datasetPadding));
                 }
-                table.setRowIndex(-1);
+            }
+            finally {
+                cancelPrefetchedData();
+            }
 
-                final int cols = table.getColumnsCount();
+            if (postProcessor != null) {
+                postProcessor.invoke(context.getELContext(), new Object[] {wb});
+            }
 
-                if (maxColumns < cols) {
-                    maxColumns = cols;
+            if (!subTable) {
+                for (int i = 0; i < maxColumns; i++) {
+                    if (streaming) {
+                        // flushed rows can not be measured
+                        sizeColumnFromSample(sheet, i);
+                    }
+                    else {
+                        sheet.autoSizeColumn((short) i);
+                    }
                 }
             }
-            sheet.createRow(sheet.getLastRowNum() + Integer.parseInt(datasetPadding));
-        }
 
-        if (postProcessor != null) {
-            postProcessor.invoke(context.getELContext(), new Object[] {wb});
-        }
+            final PrintSetup printSetup = sheet.getPrintSetup();
+            printSetup.setLandscape(true);
+            printSetup.setPaperSize(PrintSetup.A4_PAPERSIZE);
+            sheet.setPrintGridlines(true);
 
-        if (!subTable) {
-            for (int i = 0; i < maxColumns; i++) {
-                sheet.autoSizeColumn((short) i);
+            writeExcelToResponse(context.getExternalContext(), wb, filename);
+        }
+        finally {
+            if (wb instanceof SXSSFWorkbook) {
+                // delete the temp files, also if the export fails
+                ((SXSSFWorkbook) wb).dispose();
             }
         }
 
-        final PrintSetup printSetup = sheet.getPrintSetup();
-        printSetup.setLandscape(true);
-        printSetup.setPaperSize(PrintSetup.A4_PAPERSIZE);
-        sheet.setPrintGridlines(true);
-
-        writeExcelToResponse(context.getExternalContext(), wb, filename);
-
     }
 
     protected void exportAll(final FacesContext context, final DataTable table, final Sheet sheet, final boolean subTable) {
@@ -270,21 +304,7 @@ public class ExcelExporter extends Exporter {
         }
         else {
             if (lazy) {
-                if (rowCount > 0) {
-                    table.setFirst(0);
-                    table.setRows(rowCount);
-                    table.clearLazyCache();
-                    table.loadLazyData();
-                }
-                for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-                    exportRow(table, sheet, rowIndex);
-                }
-
-                // restore
-                table.setFirst(first);
-                table.setRowIndex(-1);
-                table.clearLazyCache();
-                table.loadLazyData();
+                exportLazyRows(table, rowIndex -> exportRow(table, sheet, rowIndex));
             }
             else {
                 for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
@@ -517,10 +537,6 @@ public class ExcelExporter extends Exporter {
     }
 
     protected void tableColumnGroup(final Sheet sheet, final DataTable table, final String facetType) {
-        facetStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        facetStyleCenterAlign.setVerticalAlignment(VerticalAlignment.CENTER);
-        facetStyleCenterAlign.setWrapText(true);
-
         final ColumnGroup cg = table.getColumnGroup(facetType);
         List<UIComponent> headerComponentList = null;
         if (cg != null) {
@@ -709,15 +725,6 @@ public class ExcelExporter extends Exporter {
         final int sheetRowIndex = sheet.getLastRowNum() + 1;
         final Row row = sheet.createRow(sheetRowIndex);
 
-        facetStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        facetStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        facetStyleCenterAlign.setVerticalAlignment(VerticalAlignment.CENTER);
-        facetStyleCenterAlign.setWrapText(true);
-        facetStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-        cellStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        cellStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        cellStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-
         for (final UIColumn col : table.getColumns()) {
 
             if (col instanceof DynamicColumn) {
@@ -794,15 +801,6 @@ public class ExcelExporter extends Exporter {
         final int sheetRowIndex = sheet.getLastRowNum() + 1;
         final Row row = sheet.createRow(sheetRowIndex);
 
-        facetStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        facetStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        facetStyleCenterAlign.setVerticalAlignment(VerticalAlignment.CENTER);
-        facetStyleCenterAlign.setWrapText(true);
-        facetStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-        cellStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        cellStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        cellStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-
         for (final UIColumn col : table.getColumns()) {
 
             if (col instanceof DynamicColumn) {
@@ -819,15 +817,6 @@ public class ExcelExporter extends Exporter {
         final int sheetRowIndex = sheet.getLastRowNum() + 1;
         final Row row = sheet.createRow(sheetRowIndex);
 
-        facetStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        facetStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        facetStyleCenterAlign.setVerticalAlignment(VerticalAlignment.CENTER);
-        facetStyleCenterAlign.setWrapText(true);
-        facetStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-        cellStyleLeftAlign.setAlignment(HorizontalAlignment.LEFT);
-        cellStyleCenterAlign.setAlignment(HorizontalAlignment.CENTER);
-        cellStyleRightAlign.setAlignment(HorizontalAlignment.RIGHT);
-
         for (final UIComponent component : list.getChildren()) {
             if (component instanceof Column) {
                 final UIColumn column = (UIColumn) component;
@@ -898,6 +887,7 @@ public class ExcelExporter extends Exporter {
         final Cell cell = row.createCell(cellIndex);
         final String value = component == null ? Constants.EMPTY_STRING : exportValue(FacesContext.getCurrentInstance(), component);
         cell.setCellValue(new XSSFRichTextString(value));
+        sampleColumnWidth(cell, value);
         addColumnAlignments(component, cell);
     }
 
@@ -907,7 +897,9 @@ public class ExcelExporter extends Exporter {
         final FacesContext context = FacesContext.getCurrentInstance();
 
         if (column.getExportFunction() != null) {
-            cell.setCellValue(new XSSFRichTextString(Exporter.exportColumnByFunction(context, column)));
+            final String value = Exporter.exportColumnByFunction(context, column);
+            cell.setCellValue(new XSSFRichTextString(value));
+            sampleColumnWidth(cell, value);
         }
         else {
             final StringBuilder builder = new StringBuilder();
@@ -922,6 +914,7 @@ public class ExcelExporter extends Exporter {
             }
 
             cell.setCellValue(new XSSFRichTextString(builder.toString()));
+            sampleColumnWidth(cell, builder);
 
             for (final UIComponent component : components) {
                 addColumnAlignments(component, cell);
@@ -929,6 +922,36 @@ public class ExcelExporter extends Exporter {
         }
     }
 
+    /**
+     * Remembers the longest value of the first rows of each column in streaming mode.
+     *
+     * @param cell the cell
+     * @param value the text of the cell
+     */
+    protected void sampleColumnWidth(final Cell cell, final CharSequence value) {
+        if (!streaming || value == null || cell.getRowIndex() >= AUTO_SIZE_SAMPLE_ROWS) {
+            return;
+        }
+        final int col = cell.getColumnIndex();
+        if (col >= sampledWidths.length) {
+            sampledWidths = Arrays.copyOf(sampledWidths, col + 1);
+        }
+        sampledWidths[col] = Math.max(sampledWidths[col], value.length());
+    }
+
+    /**
+     * Sizes a column from the sampled value lengths, the streaming counterpart of {@link Sheet#autoSizeColumn(int)}.
+     *
+     * @param sheet the sheet
+     * @param col the column index
+     */
+    protected void sizeColumnFromSample(final Sheet sheet, final int col) {
+        if (col < sampledWidths.length && sampledWidths[col] > 0) {
+            // width is in 1/256 of a character, Excel allows at most 255 characters
+            sheet.setColumnWidth(col, Math.min(255, sampledWidths[col] + 2) * 256);
+        }
+    }
+
     protected void addColumnAlignments(final UIComponent component, final Cell cell) {
         if (component instanceof HtmlOutputText) {
             final HtmlOutputText output = (HtmlOutputText) component;
@@ -969,69 +992,27 @@ public class ExcelExporter extends Exporter {
 
     }
 
+    /**
+     * Sets up the fonts and styles of the export once per workbook. The styles come from the style pool, so each distinct combination exists only once in
+     * the workbook; their alignments are set here instead of on every row.
+     */
     protected void createCustomFonts() {
-
-        final XSSFFont facetFont = wb.createFont();
-        final XSSFFont cellFont = wb.createFont();
-        final DefaultIndexedColorMap colorMap = new DefaultIndexedColorMap();
-
-        if (cellFontColor != null) {
-            final XSSFColor cellColor = new XSSFColor(cellFontColor, colorMap);
-            cellFont.setColor(cellColor);
-        }
-        if (cellFontSize != null) {
-            cellFont.setFontHeightInPoints(cellFontSize);
-        }
-
-        if (cellFontStyle.equalsIgnoreCase("BOLD")) {
-            cellFont.setBold(true);
-        }
-        if (cellFontStyle.equalsIgnoreCase("ITALIC")) {
-            cellFont.setItalic(true);
-        }
-
-        if (facetFontStyle.equalsIgnoreCase("BOLD")) {
-            facetFont.setBold(true);
-        }
-        if (facetFontStyle.equalsIgnoreCase("ITALIC")) {
-            facetFont.setItalic(true);
-        }
-
-        if (fontName != null) {
-            cellFont.setFontName(fontName);
-            facetFont.setFontName(fontName);
-        }
-
-        if (facetBackground != null) {
-            final XSSFColor backgroundColor = new XSSFColor(facetBackground, colorMap);
-            ((XSSFCellStyle) facetStyle).setFillForegroundColor(backgroundColor);
-            ((XSSFCellStyle) facetStyleLeftAlign).setFillForegroundColor(backgroundColor);
-            ((XSSFCellStyle) facetStyleCenterAlign).setFillForegroundColor(backgroundColor);
-            ((XSSFCellStyle) facetStyleRightAlign).setFillForegroundColor(backgroundColor);
-            facetStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            facetStyleLeftAlign.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            facetStyleCenterAlign.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            facetStyleRightAlign.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        }
-
-        if (facetFontColor != null) {
-            final XSSFColor facetColor = new XSSFColor(facetFontColor, colorMap);
-            facetFont.setColor(facetColor);
-
-        }
-        if (facetFontSize != null) {
-            facetFont.setFontHeightInPoints(facetFontSize);
-        }
-
-        cellStyle.setFont(cellFont);
-        cellStyleLeftAlign.setFont(cellFont);
-        cellStyleCenterAlign.setFont(cellFont);
-        cellStyleRightAlign.setFont(cellFont);
-
-        facetStyle.setFont(facetFont);
-        facetStyleLeftAlign.setFont(facetFont);
-        facetStyleCenterAlign.setFont(facetFont);
-        facetStyleRightAlign.setFont(facetFont);
+        final Font facetFont = stylePool.getFont(fontName, facetFontSize, facetFontColor, facetFontStyle.equalsIgnoreCase("BOLD"),
+                    facetFontStyle.equalsIgnoreCase("ITALIC"));
+        final Font cellFont = stylePool.getFont(fontName, cellFontSize, cellFontColor, cellFontStyle.equalsIgnoreCase("BOLD"),
+                    cellFontStyle.equalsIgnoreCase("ITALIC"));
+
+        cellStyle = stylePool.getStyle(cellFont, null, null, false, null);
+        cellStyleLeftAlign = stylePool.getStyle(cellFont, HorizontalAlignment.LEFT, null, false, null);
+        cellStyleCenterAlign = stylePool.getStyle(cellFont, HorizontalAlignment.CENTER, null, false, null);
+        cellStyleRightAlign = stylePool.getStyle(cellFont, HorizontalAlignment.RIGHT, null, false, null);
+
+        facetStyle = stylePool.getStyle(facetFont, null, null, false, facetBackground);
+        facetStyleLeftAlign = stylePool.getStyle(facetFont, HorizontalAlignment.LEFT, null, false, facetBackground);
+        facetStyleCenterAlign = stylePool.getStyle(facetFont, HorizontalAlignment.CENTER, VerticalAlignment.CENTER, true, facetBackground);
+        facetStyleRightAlign = stylePool.getStyle(facetFont, HorizontalAlignment.RIGHT, null, false, facetBackground);
+
+        titleStyle = stylePool.getStyle(stylePool.getFont(null, null, null, true, false), null, null, false, null);
     }
 
     protected static void writeExcelToResponse(final ExternalContext externalContext, final org.apache.poi.ss.usermodel.Workbook generatedExcel,
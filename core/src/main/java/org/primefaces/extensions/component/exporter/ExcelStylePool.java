@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+
+/**
+ * Registry of the fonts and cell styles of a workbook. Fonts are keyed by name, size, color, bold and italic, styles by font, alignment, wrapping and
+ * background, so every distinct combination is created once per workbook no matter how often it is requested. A workbook holds at most 64000 styles.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class ExcelStylePool {
+
+    private final Workbook wb;
+
+    private final DefaultIndexedColorMap colorMap = new DefaultIndexedColorMap();
+
+    private final Map<List<Object>, Font> fonts = new HashMap<>();
+
+    private final Map<List<Object>, CellStyle> styles = new HashMap<>();
+
+    ExcelStylePool(final Workbook wb) {
+        this.wb = wb;
+    }
+
+    /**
+     * Gets the font with the given attributes, creating it on first use.
+     *
+     * @param name the font name or null for the default
+     * @param size the size in points or null for the default
+     * @param color the color or null for the default
+     * @param bold whether the font is bold
+     * @param italic whether the font is italic
+     * @return the font
+     */
+    Font getFont(final String name, final Short size, final Color color, final boolean bold, final boolean italic) {
+        final List<Object> key = Arrays.asList(name, size, color, bold, italic);
+        Font font = fonts.get(key);
+        if (font == null) {
+            font = wb.createFont();
+            if (name != null) {
+                font.setFontName(name);
+            }
+            if (size != null) {
+                font.setFontHeightInPoints(size);
+            }
+            if (color != null) {
+                ((XSSFFont) font).setColor(new XSSFColor(color, colorMap));
+            }
+            font.setBold(bold);
+            font.setItalic(italic);
+            fonts.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Gets the cell style with the given attributes, creating it on first use.
+     *
+     * @param font the font
+     * @param alignment the horizontal alignment or null for the default
+     * @param verticalAlignment the vertical alignment or null for the default
+     * @param wrapText whether text is wrapped
+     * @param background the solid background color or null for none
+     * @return the style
+     */
+    CellStyle getStyle(final Font font, final HorizontalAlignment alignment, final VerticalAlignment verticalAlignment, final boolean wrapText,
+                final Color background) {
+        final List<Object> key = Arrays.asList(font.getIndexAsInt(), alignment, verticalAlignment, wrapText, background);
+        CellStyle style = styles.get(key);
+        if (style == null) {
+            style = wb.createCellStyle();
+            style.setFont(font);
+            if (alignment != null) {
+                style.setAlignment(alignment);
+            }
+            if (verticalAlignment != null) {
+                style.setVerticalAlignment(verticalAlignment);
+            }
+            style.setWrapText(wrapText);
+            if (background != null) {
+                ((XSSFCellStyle) style).setFillForegroundColor(new XSSFColor(background, colorMap));
+                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            }
+            styles.put(key, style);
+        }
+        return style;
+    }
+}
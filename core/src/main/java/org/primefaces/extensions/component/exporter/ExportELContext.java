@@ -0,0 +1,122 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.beans.FeatureDescriptor;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.el.ArrayELResolver;
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.FunctionMapper;
+import javax.el.ListELResolver;
+import javax.el.MapELResolver;
+import javax.el.VariableMapper;
+
+/**
+ * ELContext evaluating cell expressions of an asynchronous export outside of a JSF request. Only the row variables and the properties of the row objects can
+ * be resolved, managed beans and implicit objects are not available.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class ExportELContext extends ELContext {
+
+    private final Map<String, Object> variables = new HashMap<>();
+
+    private final CompositeELResolver resolver = new CompositeELResolver();
+
+    ExportELContext() {
+        resolver.add(new VariableResolver());
+        resolver.add(new MapELResolver(true));
+        resolver.add(new ListELResolver(true));
+        resolver.add(new ArrayELResolver(true));
+        resolver.add(new BeanELResolver(true));
+    }
+
+    /**
+     * Sets the value of a top level variable like the var of the table.
+     *
+     * @param name the variable name
+     * @param value the value
+     */
+    void setVariable(final String name, final Object value) {
+        variables.put(name, value);
+    }
+
+    @Override
+    public ELResolver getELResolver() {
+        return resolver;
+    }
+
+    @Override
+    public FunctionMapper getFunctionMapper() {
+        return null;
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+        return null;
+    }
+
+    /**
+     * Resolves the top level variables.
+     */
+    private final class VariableResolver extends ELResolver {
+
+        @Override
+        public Object getValue(final ELContext context, final Object base, final Object property) {
+            if (base == null && property != null && variables.containsKey(property.toString())) {
+                context.setPropertyResolved(true);
+                return variables.get(property.toString());
+            }
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(final ELContext context, final Object base, final Object property) {
+            if (base == null && property != null && variables.containsKey(property.toString())) {
+                context.setPropertyResolved(true);
+                return Object.class;
+            }
+            return null;
+        }
+
+        @Override
+        public void setValue(final ELContext context, final Object base, final Object property, final Object value) {
+            // read only
+        }
+
+        @Override
+        public boolean isReadOnly(final ELContext context, final Object base, final Object property) {
+            return true;
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(final ELContext context, final Object base) {
+            return null;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(final ELContext context, final Object base) {
+            return base == null ? String.class : null;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.el.ValueExpression;
+import javax.faces.context.ExternalContext;
+
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.util.Constants;
+
+/**
+ * An export running in the background. The rows and columns of the table are snapshotted on the request thread, the job evaluates the cell expressions
+ * against the snapshot without a FacesContext and writes the result to a temp file which is downloaded once the job is done. Lazy tables are loaded through
+ * the detached model of their {@link AsyncExportable} model, never through the model of the view.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public class ExportJob implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportJob.class.getName());
+
+    /**
+     * Rows loaded per call of the lazy model if no chunkSize is set, so a job never holds the whole result set.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final String sessionId;
+
+    private final TextExporter exporter;
+
+    private final String fileName;
+
+    private final Charset charset;
+
+    private final String title;
+
+    private final List<String> headers;
+
+    private final List<String> footers;
+
+    private final List<ExportColumn> columns;
+
+    private final String var;
+
+    private final List<?> rows;
+
+    private final LazyDataModel<?> lazyModel;
+
+    private final Map<String, SortMeta> sortBy;
+
+    private final Map<String, FilterMeta> filterBy;
+
+    private final int chunkSize;
+
+    private volatile Status status = Status.QUEUED;
+
+    private volatile int rowsDone;
+
+    private volatile int rowCount = -1;
+
+    private volatile long finishedAt;
+
+    private volatile Path file;
+
+    ExportJob(final String sessionId, final TextExporter exporter, final String fileName, final Charset charset, final String title,
+                final List<String> headers, final List<String> footers, final List<ExportColumn> columns, final String var, final List<?> rows,
+                final LazyDataModel<?> lazyModel, final Map<String, SortMeta> sortBy, final Map<String, FilterMeta> filterBy, final int chunkSize) {
+        this.sessionId = sessionId;
+        this.exporter = exporter;
+        this.fileName = fileName;
+        this.charset = charset;
+        this.title = title;
+        this.headers = headers;
+        this.footers = footers;
+        this.columns = columns;
+        this.var = var;
+        this.rows = rows;
+        this.lazyModel = lazyModel;
+        this.sortBy = sortBy;
+        this.filterBy = filterBy;
+        this.chunkSize = chunkSize;
+        if (rows != null) {
+            rowCount = rows.size();
+        }
+    }
+
+    @Override
+    public void run() {
+        status = Status.RUNNING;
+        try {
+            file = Files.createTempFile("pe-export-", "." + exporter.getFileExtension());
+            try (OutputStream out = Files.newOutputStream(file); Writer writer = exporter.openWriter(out, charset)) {
+                export(writer);
+            }
+            status = Status.DONE;
+        }
+        catch (final Exception e) {
+            // the details stay in the log, the client only learns that the job failed
+            LOGGER.log(Level.WARNING, "Export job " + id + " failed", e);
+            status = Status.FAILED;
+            deleteFile();
+        }
+        finally {
+            finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    protected void export(final Writer writer) throws IOException {
+        final ExportELContext elContext = new ExportELContext();
+        final List<String> values = new ArrayList<>(columns.size());
+
+        exporter.startTable(writer, title, headers);
+        if (lazyModel != null) {
+            final int pageSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+            int first = 0;
+            List<?> chunk;
+            do {
+                chunk = lazyModel.load(first, pageSize, sortBy, filterBy);
+                rowCount = lazyModel.getRowCount();
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                exportRows(writer, elContext, values, chunk);
+                first += chunk.size();
+            }
+            // a full page without a known row count may be followed by more rows
+            while (first < rowCount || chunk.size() >= pageSize);
+        }
+        else {
+            exportRows(writer, elContext, values, rows);
+        }
+        exporter.endTable(writer, footers);
+    }
+
+    private void exportRows(final Writer writer, final ExportELContext elContext, final List<String> values, final List<?> chunk) throws IOException {
+        for (final Object row : chunk) {
+            elContext.setVariable(var, row);
+            values.clear();
+            for (final ExportColumn column : columns) {
+                values.add(column.evaluate(elContext));
+            }
+            exporter.writeRow(writer, values);
+            rowsDone++;
+        }
+    }
+
+    /**
+     * Writes the result file to the response.
+     *
+     * @param externalContext the ExternalContext of the download request
+     * @throws IOException if any IO error occurs
+     */
+    void writeResult(final ExternalContext externalContext) throws IOException {
+        exporter.writeTextHeaders(externalContext, fileName);
+        externalContext.setResponseContentLength((int) Math.min(Integer.MAX_VALUE, Files.size(file)));
+        Files.copy(file, externalContext.getResponseOutputStream());
+        externalContext.responseFlushBuffer();
+    }
+
+    /**
+     * Gets the progress as JSON object.
+     *
+     * @return the progress, e.g. {"status":"RUNNING","rowsDone":1000,"rowCount":5000}
+     */
+    String toJson() {
+        final StringBuilder json = new StringBuilder(64);
+        json.append("{\"status\":\"").append(status.name()).append("\",\"rowsDone\":").append(rowsDone).append(",\"rowCount\":").append(rowCount);
+        return json.append('}').toString();
+    }
+
+    boolean isOwnedBy(final String requestSessionId) {
+        return sessionId != null && sessionId.equals(requestSessionId);
+    }
+
+    boolean isExpired(final long now, final long ttl) {
+        return finishedAt > 0 && now - finishedAt > ttl;
+    }
+
+    void deleteFile() {
+        final Path path = file;
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            }
+            catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete export file " + path, e);
+            }
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getRowsDone() {
+        return rowsDone;
+    }
+
+    /**
+     * @return the total number of rows or -1 while unknown
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The cell parts of an exported column: constant texts and value expressions evaluated against the row.
+     */
+    static final class ExportColumn {
+
+        private final List<Object> parts = new ArrayList<>();
+
+        void addText(final String text) {
+            parts.add(text);
+        }
+
+        void addExpression(final ValueExpression expression) {
+            parts.add(expression);
+        }
+
+        String evaluate(final ExportELContext elContext) {
+            if (parts.size() == 1 && parts.get(0) instanceof String) {
+                return (String) parts.get(0);
+            }
+
+            final StringBuilder builder = new StringBuilder();
+            for (final Object part : parts) {
+                if (part instanceof ValueExpression) {
+                    final Object value = ((ValueExpression) part).getValue(elContext);
+                    builder.append(value == null ? Constants.EMPTY_STRING : value.toString());
+                }
+                else {
+                    builder.append(part);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
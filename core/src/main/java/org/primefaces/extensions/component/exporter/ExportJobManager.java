@@ -0,0 +1,239 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.faces.FacesException;
+import javax.faces.application.Resource;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import org.primefaces.util.LangUtils;
+
+/**
+ * Runs asynchronous export jobs on a bounded thread pool and serves their progress and result. Progress and download requests are resource requests
+ * carrying the {@link #JOB_PARAM} parameter, they are dispatched here by the PrimeFacesExtensionsResourceHandler.
+ * <p>
+ * Configured by context parameters:
+ * <ul>
+ * <li>{@link #THREADS_PARAM}: number of exports running concurrently, default 2</li>
+ * <li>{@link #QUEUE_PARAM}: number of exports waiting for a thread before new exports are rejected, default 10</li>
+ * <li>{@link #TTL_PARAM}: seconds a finished export is kept for download, default 600</li>
+ * </ul>
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public class ExportJobManager {
+
+    public static final String JOB_PARAM = "pe-exportjob";
+
+    public static final String THREADS_PARAM = "primefaces.extensions.EXPORTER_ASYNC_THREADS";
+
+    public static final String QUEUE_PARAM = "primefaces.extensions.EXPORTER_ASYNC_QUEUE";
+
+    public static final String TTL_PARAM = "primefaces.extensions.EXPORTER_ASYNC_TTL";
+
+    private static final String KEY = ExportJobManager.class.getName();
+
+    private static final int POLL_INTERVAL = 1000;
+
+    private static final long SHUTDOWN_TIMEOUT = 5;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long ttl;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    ExportJobManager(final int threads, final int queueSize, final long ttl) {
+        this.ttl = ttl;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            final Thread thread = new Thread(runnable, "pe-exporter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // idle threads do not outlive the application
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ExportJobManager getInstance(final FacesContext context) {
+        final Map<String, Object> applicationMap = context.getExternalContext().getApplicationMap();
+        ExportJobManager manager = (ExportJobManager) applicationMap.get(KEY);
+
+        if (manager == null) {
+            synchronized (ExportJobManager.class) {
+                manager = (ExportJobManager) applicationMap.get(KEY);
+                if (manager == null) {
+                    final ExternalContext externalContext = context.getExternalContext();
+                    manager = new ExportJobManager(getIntParameter(externalContext, THREADS_PARAM, 2),
+                                getIntParameter(externalContext, QUEUE_PARAM, 10),
+                                TimeUnit.SECONDS.toMillis(getIntParameter(externalContext, TTL_PARAM, 600)));
+                    applicationMap.put(KEY, manager);
+                }
+            }
+        }
+
+        return manager;
+    }
+
+    /**
+     * Checks whether the request is a progress or download request of an export job.
+     *
+     * @param context the FacesContext
+     * @return true if the request targets an export job
+     */
+    public static boolean isJobRequest(final FacesContext context) {
+        return context.getExternalContext().getRequestParameterMap().containsKey(JOB_PARAM);
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @param job the job
+     * @throws FacesException if the queue is full
+     */
+    public void submit(final ExportJob job) {
+        purgeExpiredJobs();
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(job);
+        }
+        catch (final RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new FacesException("Too many exports running, please try again later.", e);
+        }
+    }
+
+    /**
+     * Writes the progress of a job as JSON or, if the "action" parameter is "download" and the job is done, the export file.
+     *
+     * @param context the FacesContext
+     * @throws IOException if any IO error occurs
+     */
+    public void handleJobRequest(final FacesContext context) throws IOException {
+        purgeExpiredJobs();
+
+        final ExternalContext externalContext = context.getExternalContext();
+        final Map<String, String> params = externalContext.getRequestParameterMap();
+        final ExportJob job = getJob(params.get(JOB_PARAM));
+
+        if (job == null || !job.isOwnedBy(externalContext.getSessionId(false))) {
+            externalContext.responseSendError(404, "Export not found");
+        }
+        else if ("download".equals(params.get("action")) && job.getStatus() == ExportJob.Status.DONE) {
+            job.writeResult(externalContext);
+        }
+        else {
+            externalContext.setResponseContentType("application/json");
+            externalContext.setResponseCharacterEncoding("UTF-8");
+            externalContext.setResponseHeader("Cache-Control", "no-cache, no-store");
+            externalContext.getResponseOutputWriter().write(job.toJson());
+        }
+
+        context.responseComplete();
+    }
+
+    /**
+     * Creates the script polling the progress of the job. While polling the event "pe:exportProgress" is triggered on the document with the progress as
+     * argument, once the job is done the file is downloaded.
+     *
+     * @param context the FacesContext
+     * @param job the job
+     * @return the script
+     */
+    public String getPollingScript(final FacesContext context, final ExportJob job) {
+        final Resource resource = context.getApplication().getResourceHandler().createResource("dynamiccontent.properties", "primefaces");
+        final String url = context.getExternalContext().encodeResourceURL(resource.getRequestPath()) + "&" + JOB_PARAM + "=" + job.getId();
+
+        return "(function(){var u='" + url + "',t=setInterval(function(){$.getJSON(u,function(p){$(document).trigger('pe:exportProgress',[p]);"
+                    + "if(p.status==='DONE'){clearInterval(t);window.location=u+'&action=download';}"
+                    + "else if(p.status==='FAILED'){clearInterval(t);PrimeFaces.error('Export failed');}})"
+                    + ".fail(function(){clearInterval(t);});}," + POLL_INTERVAL + ");})();";
+    }
+
+    /**
+     * Stops the running jobs and deletes the files of all jobs. Called when the application is destroyed.
+     *
+     * @param context the FacesContext
+     */
+    public static void destroy(final FacesContext context) {
+        final ExportJobManager manager = (ExportJobManager) context.getExternalContext().getApplicationMap().remove(KEY);
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    /**
+     * Stops the thread pool and deletes the files of all jobs.
+     */
+    protected void shutdown() {
+        executor.shutdownNow();
+        try {
+            // interrupted jobs may still be closing their files
+            executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (final ExportJob job : jobs.values()) {
+            job.deleteFile();
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Gets a queued, running or finished job.
+     *
+     * @param id the job id
+     * @return the job or null if there is no such job or it has expired
+     */
+    ExportJob getJob(final String id) {
+        return id == null ? null : jobs.get(id);
+    }
+
+    /**
+     * Removes finished jobs whose time to live has passed and deletes their files.
+     */
+    protected void purgeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        final Iterator<ExportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            final ExportJob job = iterator.next();
+            if (job.isExpired(now, ttl)) {
+                iterator.remove();
+                job.deleteFile();
+            }
+        }
+    }
+
+    private static int getIntParameter(final ExternalContext externalContext, final String name, final int defaultValue) {
+        final String value = externalContext.getInitParameter(name);
+        return LangUtils.isValueBlank(value) ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -16,9 +16,22 @@
 package org.primefaces.extensions.component.exporter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.el.MethodExpression;
+import javax.faces.FacesException;
 import javax.faces.component.EditableValueHolder;
 import javax.faces.component.UIComponent;
 import javax.faces.component.ValueHolder;
@@ -26,15 +39,23 @@ import javax.faces.component.html.*;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
 import javax.faces.event.ActionEvent;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 
 import org.primefaces.component.api.DynamicColumn;
 import org.primefaces.component.api.UIColumn;
 import org.primefaces.component.celleditor.CellEditor;
 import org.primefaces.component.column.Column;
+import org.primefaces.component.columns.Columns;
 import org.primefaces.component.datalist.DataList;
 import org.primefaces.component.datatable.DataTable;
 import org.primefaces.component.roweditor.RowEditor;
 import org.primefaces.component.subtable.SubTable;
+import org.primefaces.expression.SearchExpressionFacade;
+import org.primefaces.extensions.util.ExtLangUtils;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
 import org.primefaces.util.ComponentUtils;
 import org.primefaces.util.Constants;
 
@@ -50,6 +71,23 @@ public abstract class Exporter {
 
     protected String skipComponents;
 
+    protected boolean streaming;
+
+    protected int chunkSize;
+
+    protected boolean parallel;
+
+    private final Map<UIComponent, ValuePlan> valuePlans = new IdentityHashMap<>();
+
+    private Map<DataTable, Future<List<?>>> prefetchedData = Collections.emptyMap();
+
+    /**
+     * JNDI name of the default managed executor of a Java EE 7+ container.
+     */
+    protected static final String MANAGED_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
+
+    private static final Logger LOGGER = Logger.getLogger(Exporter.class.getName());
+
     protected enum ColumnType {
         HEADER("header"), FOOTER("footer");
 
@@ -69,6 +107,37 @@ public abstract class Exporter {
         }
     }
 
+    /**
+     * The kinds of components {@link #exportValue(FacesContext, UIComponent)} extracts values from.
+     */
+    protected enum ValueKind {
+        CELL_EDITOR, ROW_EDITOR, GRAPHIC_IMAGE, COMMAND_LINK, OUTPUT_LINK, COMMAND_BUTTON, SELECT_ONE_MENU, SKIPPED, VALUE_HOLDER, TEXT
+    }
+
+    /**
+     * How to extract the value of a component: its kind and, for value holders, the converter once it is resolved.
+     */
+    protected static final class ValuePlan {
+
+        private final ValueKind kind;
+        private final boolean converterCacheable;
+        private Converter converter;
+        private boolean converterResolved;
+
+        ValuePlan(final ValueKind kind) {
+            this(kind, false);
+        }
+
+        ValuePlan(final ValueKind kind, final boolean converterCacheable) {
+            this.kind = kind;
+            this.converterCacheable = converterCacheable;
+        }
+
+        public ValueKind getKind() {
+            return kind;
+        }
+    }
+
     public abstract void export(ActionEvent event, String tableId, FacesContext facesContext,
                 String outputFileName, String tableTitleValue, boolean pageOnly, boolean selectionOnly,
                 String encodingType, MethodExpression preProcessor,
@@ -88,118 +157,148 @@ public abstract class Exporter {
     }
 
     protected String exportValue(final FacesContext context, final UIComponent component) {
+        final ValuePlan plan = getValuePlan(context, component);
+
+        switch (plan.kind) {
+            case CELL_EDITOR:
+                return exportValue(context, component.getFacet("output"));
+            case ROW_EDITOR:
+                return "RowEditor";
+            case GRAPHIC_IMAGE:
+                return (String) component.getAttributes().get("alt");
+            case COMMAND_LINK:
+                return exportValueOrFirstValueHolder(context, component, ((HtmlCommandLink) component).getValue());
+            case OUTPUT_LINK:
+                return exportValue(context, component.getChildren().get(0));
+            case COMMAND_BUTTON:
+                return exportValueOrFirstValueHolder(context, component, ((HtmlCommandButton) component).getValue());
+            case SELECT_ONE_MENU:
+                return exportValueOrFirstValueHolder(context, component, ((HtmlSelectOneMenu) component).getSubmittedValue());
+            case SKIPPED:
+                return Constants.EMPTY_STRING;
+            case VALUE_HOLDER:
+                if (component instanceof EditableValueHolder) {
+                    final Object submittedValue = ((EditableValueHolder) component).getSubmittedValue();
+                    if (submittedValue != null) {
+                        return submittedValue.toString();
+                    }
+                }
+
+                final Object value = ((ValueHolder) component).getValue();
+                if (value == null) {
+                    return Constants.EMPTY_STRING;
+                }
+
+                final Converter converter;
+                if (plan.converterResolved) {
+                    converter = plan.converter;
+                }
+                else {
+                    // resolved from the first non-null value, the type of a null value says nothing about the column
+                    converter = resolveConverter(context, component);
+                    if (plan.converterCacheable) {
+                        plan.converter = converter;
+                        plan.converterResolved = true;
+                    }
+                }
+                if (converter != null) {
+                    return converter.getAsString(context, component, value);
+                }
+
+                // No converter found just return the value as string
+                return value.toString();
+            default:
+                // This would get the plain texts on UIInstructions when using Facelets
+                final String text = component.toString();
+                return text.trim();
+        }
+    }
+
+    private String exportValueOrFirstValueHolder(final FacesContext context, final UIComponent component, final Object value) {
+        if (value != null) {
+            return String.valueOf(value);
+        }
+        else {
+            // export first value holder
+            for (final UIComponent child : component.getChildren()) {
+                if (child instanceof ValueHolder) {
+                    return exportValue(context, child);
+                }
+            }
 
+            return Constants.EMPTY_STRING;
+        }
+    }
+
+    /**
+     * Gets the plan how to extract the value of a component. The same component instance renders a column in every row, so the type checks, the skip
+     * decision and the converter lookup are done once per column instead of once per cell.
+     *
+     * @param context the FacesContext
+     * @param component the component
+     * @return the plan
+     */
+    protected ValuePlan getValuePlan(final FacesContext context, final UIComponent component) {
+        ValuePlan plan = valuePlans.get(component);
+        if (plan == null) {
+            plan = createValuePlan(context, component);
+            valuePlans.put(component, plan);
+        }
+        return plan;
+    }
+
+    protected ValuePlan createValuePlan(final FacesContext context, final UIComponent component) {
         if (component instanceof CellEditor) {
-            return exportValue(context, component.getFacet("output"));
+            return new ValuePlan(ValueKind.CELL_EDITOR);
         }
         if (component instanceof RowEditor) {
-            return "RowEditor";
+            return new ValuePlan(ValueKind.ROW_EDITOR);
         }
-
         if (component instanceof HtmlGraphicImage) {
-            return (String) component.getAttributes().get("alt");
+            return new ValuePlan(ValueKind.GRAPHIC_IMAGE);
         }
-
         if (component instanceof HtmlCommandLink) {
-            final HtmlCommandLink link = (HtmlCommandLink) component;
-            final Object value = link.getValue();
-
-            if (value != null) {
-                return String.valueOf(value);
-            }
-            else {
-                // export first value holder
-                for (final UIComponent child : link.getChildren()) {
-                    if (child instanceof ValueHolder) {
-                        return exportValue(context, child);
-                    }
-                }
-
-                return Constants.EMPTY_STRING;
-            }
+            return new ValuePlan(ValueKind.COMMAND_LINK);
         }
         if (component instanceof HtmlOutputLink) {
-            final HtmlOutputLink link = (HtmlOutputLink) component;
-
-            final List<UIComponent> children = link.getChildren();
-            if (children != null) {
-                return exportValue(context, children.get(0));
-            }
+            return new ValuePlan(ValueKind.OUTPUT_LINK);
         }
         if (component instanceof HtmlCommandButton) {
-            final HtmlCommandButton button = (HtmlCommandButton) component;
-            final Object value = button.getValue();
-
-            if (value != null) {
-                return String.valueOf(value);
-            }
-            else {
-                // export first value holder
-                for (final UIComponent child : button.getChildren()) {
-                    if (child instanceof ValueHolder) {
-                        return exportValue(context, child);
-                    }
-                }
-
-                return Constants.EMPTY_STRING;
-            }
+            return new ValuePlan(ValueKind.COMMAND_BUTTON);
         }
         if (component instanceof HtmlSelectOneMenu) {
-            final HtmlSelectOneMenu oneMenu = (HtmlSelectOneMenu) component;
-            final Object value = oneMenu.getSubmittedValue();
-
-            if (value != null) {
-                return String.valueOf(value);
-            }
-            else {
-                // export first value holder
-                for (final UIComponent child : oneMenu.getChildren()) {
-                    if (child instanceof ValueHolder) {
-                        return exportValue(context, child);
-                    }
-                }
-
-                return Constants.EMPTY_STRING;
-            }
+            return new ValuePlan(ValueKind.SELECT_ONE_MENU);
         }
         if (skipComponents.contains(component.getClass().getName())) {
-            return Constants.EMPTY_STRING;
+            return new ValuePlan(ValueKind.SKIPPED);
         }
-        else if (component instanceof ValueHolder) {
-
-            if (component instanceof EditableValueHolder) {
-                final Object submittedValue = ((EditableValueHolder) component).getSubmittedValue();
-                if (submittedValue != null) {
-                    return submittedValue.toString();
-                }
-            }
-
-            final ValueHolder valueHolder = (ValueHolder) component;
-            final Object value = valueHolder.getValue();
-            if (value == null) {
-                return Constants.EMPTY_STRING;
-            }
-
-            // first ask the converter
-            if (valueHolder.getConverter() != null) {
-                return valueHolder.getConverter().getAsString(context, component, value);
+        if (component instanceof ValueHolder) {
+            // the children of p:columns render a different property per column and a converter bound to an expression may differ per row,
+            // their converter can not be cached
+            if (component.getParent() instanceof Columns || component.getValueExpression("converter") != null) {
+                return new ValuePlan(ValueKind.VALUE_HOLDER);
             }
-            // Try to guess
-            else {
-                final Converter converterForType = ComponentUtils.getConverter(context, component);
-                if (converterForType != null) {
-                    return converterForType.getAsString(context, component, value);
-                }
+            final ValuePlan plan = new ValuePlan(ValueKind.VALUE_HOLDER, true);
+            // an explicit converter is the same for every row, a converter by type is resolved lazily from the first non-null value
+            final Converter converter = ((ValueHolder) component).getConverter();
+            if (converter != null) {
+                plan.converter = converter;
+                plan.converterResolved = true;
             }
-
-            // No converter found just return the value as string
-            return value.toString();
+            return plan;
         }
-        else {
-            // This would get the plain texts on UIInstructions when using Facelets
-            final String value = component.toString();
-            return value.trim();
+        return new ValuePlan(ValueKind.TEXT);
+    }
+
+    /**
+     * Resolves the converter of a value holder, first asking the component itself, then guessing by type.
+     */
+    private static Converter resolveConverter(final FacesContext context, final UIComponent component) {
+        final Converter converter = ((ValueHolder) component).getConverter();
+        if (converter != null) {
+            return converter;
         }
+        return ComponentUtils.getConverter(context, component);
     }
 
     protected static String exportFacetValue(final FacesContext context, final UIComponent component) {
@@ -347,4 +446,173 @@ public abstract class Exporter {
         skipComponents = skipComponentsValue;
     }
 
+    /**
+     * Enables the streaming mode of exporters supporting it, which keep only a bounded window of the output in memory.
+     *
+     * @param streamingValue true to stream the export
+     */
+    public void setStreaming(final boolean streamingValue) {
+        streaming = streamingValue;
+    }
+
+    /**
+     * Sets the number of rows loaded from a lazy model at once, 0 loads all rows in a single call.
+     *
+     * @param chunkSizeValue the chunk size
+     */
+    public void setChunkSize(final int chunkSizeValue) {
+        chunkSize = chunkSizeValue;
+    }
+
+    /**
+     * Enables loading the data of multiple lazy tables concurrently.
+     *
+     * @param parallelValue true to load the tables in parallel
+     */
+    public void setParallel(final boolean parallelValue) {
+        parallel = parallelValue;
+    }
+
+    /**
+     * Starts loading all rows of the rendered lazy tables of a multi-table export concurrently. The loads are submitted to the managed executor of the
+     * container while the tables are exported one after another on the request thread, {@link #exportLazyRows(DataTable, IntConsumer)} then picks up the
+     * loaded rows instead of loading them itself. The sort and filter state of each table is copied before the load is started. Only the LazyDataModel.load
+     * calls run concurrently, so they must not access the FacesContext. Without a managed executor the tables are loaded on the request thread as usual.
+     * With a chunk size nothing is prefetched: a prefetch holds all rows of all tables at once, which a chunked export is meant to avoid.
+     *
+     * @param context the FacesContext
+     * @param source the component the search expressions are relative to
+     * @param tableId the search expressions of the tables
+     */
+    protected void prefetchLazyData(final FacesContext context, final UIComponent source, final String tableId) {
+        if (chunkSize > 0) {
+            // chunked exports page through each table on the request thread
+            return;
+        }
+
+        final Map<LazyDataModel<?>, DataTable> lazyTables = new IdentityHashMap<>();
+        final Map<LazyDataModel<?>, Boolean> sharedModels = new IdentityHashMap<>();
+        final StringTokenizer st = new StringTokenizer(ExtLangUtils.normalizeSpace(tableId.replace(',', ' ')), " ");
+        while (st.hasMoreElements()) {
+            final UIComponent component = SearchExpressionFacade.resolveComponent(context, source, (String) st.nextElement());
+            if (component instanceof DataTable && component.isRendered() && ((DataTable) component).isLazy()) {
+                final LazyDataModel<?> model = (LazyDataModel<?>) ((DataTable) component).getValue();
+                if (lazyTables.put(model, (DataTable) component) != null) {
+                    sharedModels.put(model, Boolean.TRUE);
+                }
+            }
+        }
+        // a model shared by several tables is loaded by the request thread
+        lazyTables.keySet().removeAll(sharedModels.keySet());
+        if (lazyTables.size() < 2) {
+            return;
+        }
+
+        final ExecutorService executor = lookupManagedExecutor();
+        if (executor == null) {
+            return;
+        }
+
+        prefetchedData = new IdentityHashMap<>();
+        for (final Map.Entry<LazyDataModel<?>, DataTable> entry : lazyTables.entrySet()) {
+            final LazyDataModel<?> model = entry.getKey();
+            final DataTable table = entry.getValue();
+            final int rowCount = table.getRowCount();
+            if (rowCount <= 0) {
+                continue;
+            }
+            final Map<String, SortMeta> sortBy = new HashMap<>(table.getSortByAsMap());
+            final Map<String, FilterMeta> filterBy = new HashMap<>(table.getFilterByAsMap());
+            final Callable<List<?>> load = () -> model.load(0, rowCount, sortBy, filterBy);
+            prefetchedData.put(table, executor.submit(load));
+        }
+    }
+
+    /**
+     * Looks up the managed executor the parallel loads are submitted to. The container owns its threads, so the executor is never shut down by the export.
+     *
+     * @return the managed executor or null if the container does not provide one
+     */
+    protected ExecutorService lookupManagedExecutor() {
+        try {
+            return (ExecutorService) new InitialContext().lookup(MANAGED_EXECUTOR_JNDI_NAME);
+        }
+        catch (final NamingException | ClassCastException e) {
+            LOGGER.log(Level.FINE, "No managed executor available, lazy tables are loaded on the request thread", e);
+            return null;
+        }
+    }
+
+    /**
+     * Cancels the prefetched loads which have not been exported, e.g. after an error.
+     */
+    protected void cancelPrefetchedData() {
+        for (final Future<List<?>> future : prefetchedData.values()) {
+            future.cancel(true);
+        }
+        prefetchedData = Collections.emptyMap();
+    }
+
+    /**
+     * Exports all rows of a lazy DataTable. With a chunk size the lazy model is paged through chunk by chunk and each chunk is exported before the next one
+     * is loaded, otherwise all rows are loaded at once. The paging of the table is restored afterwards.
+     *
+     * @param table the lazy table
+     * @param rowExporter exports the row with the given index
+     */
+    protected void exportLazyRows(final DataTable table, final IntConsumer rowExporter) {
+        final int first = table.getFirst();
+        final int rows = table.getRows();
+        final int rowCount = table.getRowCount();
+        final int chunk = chunkSize > 0 ? chunkSize : rowCount;
+
+        final Future<List<?>> prefetched = prefetchedData.remove(table);
+        if (prefetched != null) {
+            final List<?> data = awaitPrefetchedData(prefetched);
+            @SuppressWarnings("unchecked")
+            final LazyDataModel<Object> model = (LazyDataModel<Object>) table.getValue();
+            table.setFirst(0);
+            table.setRows(data.size());
+            model.setPageSize(Math.max(1, data.size()));
+            model.setWrappedData(data);
+            for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
+                rowExporter.accept(rowIndex);
+            }
+        }
+        else {
+            for (int chunkFirst = 0; chunkFirst < rowCount; chunkFirst += chunk) {
+                table.setFirst(chunkFirst);
+                table.setRows(chunk);
+                table.clearLazyCache();
+                table.loadLazyData();
+
+                final int chunkEnd = Math.min(chunkFirst + chunk, rowCount);
+                for (int rowIndex = chunkFirst; rowIndex < chunkEnd; rowIndex++) {
+                    rowExporter.accept(rowIndex);
+                }
+            }
+        }
+
+        // restore
+        table.setFirst(first);
+        table.setRows(rows);
+        table.setRowIndex(-1);
+        table.clearLazyCache();
+        table.loadLazyData();
+    }
+
+    private static List<?> awaitPrefetchedData(final Future<List<?>> future) {
+        try {
+            final List<?> data = future.get();
+            return data == null ? Collections.emptyList() : data;
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FacesException(e);
+        }
+        catch (final ExecutionException e) {
+            throw new FacesException(e.getCause());
+        }
+    }
+
 }
@@ -64,7 +64,7 @@ public class ExporterFactoryProvider {
 class DefaultExporterFactory implements ExporterFactory {
 
     public enum ExporterType {
-        PDF, XLSX
+        PDF, XLSX, CSV, JSONL
     }
 
     @Override
@@ -82,6 +82,12 @@ class DefaultExporterFactory implements ExporterFactory {
                 case XLSX:
                     exporter = new ExcelExporter();
                     break;
+                case CSV:
+                    exporter = new CSVExporter();
+                    break;
+                case JSONL:
+                    exporter = new JSONLExporter();
+                    break;
                 default:
                     throw new IllegalStateException("Exporter type not supported.");
             }
@@ -52,6 +52,13 @@ public class ExporterTagHandler extends TagHandler {
     private final TagAttribute datasetPadding;
     private final TagAttribute orientation;
     private final TagAttribute skipComponents;
+    private final TagAttribute streaming;
+    private final TagAttribute chunkSize;
+    private final TagAttribute delimiter;
+    private final TagAttribute quoting;
+    private final TagAttribute gzip;
+    private final TagAttribute async;
+    private final TagAttribute parallel;
 
     public ExporterTagHandler(final TagConfig tagConfig) {
         super(tagConfig);
@@ -76,6 +83,13 @@ public class ExporterTagHandler extends TagHandler {
         datasetPadding = getAttribute("datasetPadding");
         orientation = getAttribute("orientation");
         skipComponents = getAttribute("skipComponents");
+        streaming = getAttribute("streaming");
+        chunkSize = getAttribute("chunkSize");
+        delimiter = getAttribute("delimiter");
+        quoting = getAttribute("quoting");
+        gzip = getAttribute("gzip");
+        async = getAttribute("async");
+        parallel = getAttribute("parallel");
     }
 
     @Override
@@ -161,10 +175,33 @@ public class ExporterTagHandler extends TagHandler {
                 skipComponentsVE = skipComponents.getValueExpression(faceletContext, Object.class);
             }
 
+            final DataExporter dataExporter = new DataExporter(targetVE, typeVE, fileNameVE, tableTitleVE, pageOnlyVE, selectionOnlyVE, encodingVE,
+                        preProcessorME, postProcessorME, subTableVE, facetBackgroundVE, facetFontSizeVE, facetFontColorVE, facetFontStyleVE, fontNameVE,
+                        cellFontSizeVE, cellFontColorVE, cellFontStyleVE, datasetPaddingVE, orientationVE, skipComponentsVE);
+            if (streaming != null) {
+                dataExporter.setStreaming(streaming.getValueExpression(faceletContext, Object.class));
+            }
+            if (chunkSize != null) {
+                dataExporter.setChunkSize(chunkSize.getValueExpression(faceletContext, Object.class));
+            }
+            if (delimiter != null) {
+                dataExporter.setDelimiter(delimiter.getValueExpression(faceletContext, Object.class));
+            }
+            if (quoting != null) {
+                dataExporter.setQuoting(quoting.getValueExpression(faceletContext, Object.class));
+            }
+            if (gzip != null) {
+                dataExporter.setGzip(gzip.getValueExpression(faceletContext, Object.class));
+            }
+            if (async != null) {
+                dataExporter.setAsync(async.getValueExpression(faceletContext, Object.class));
+            }
+            if (parallel != null) {
+                dataExporter.setParallel(parallel.getValueExpression(faceletContext, Object.class));
+            }
+
             final ActionSource actionSource = (ActionSource) parent;
-            actionSource.addActionListener(new DataExporter(targetVE, typeVE, fileNameVE, tableTitleVE, pageOnlyVE, selectionOnlyVE, encodingVE, preProcessorME,
-                        postProcessorME, subTableVE, facetBackgroundVE, facetFontSizeVE, facetFontColorVE, facetFontStyleVE, fontNameVE, cellFontSizeVE,
-                        cellFontColorVE, cellFontStyleVE, datasetPaddingVE, orientationVE, skipComponentsVE));
+            actionSource.addActionListener(dataExporter);
 
         }
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.primefaces.util.LangUtils;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Exports tables as JSON lines: one JSON object per row and line, keyed by the column headers. Columns without header text are keyed "column1",
+ * "column2" and so on, repeated keys get the suffix "_2", "_3" and so on. Titles and footers are not exported. Requires Gson.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public class JSONLExporter extends TextExporter {
+
+    private final List<String> keys = new ArrayList<>();
+
+    private final Set<String> usedKeys = new HashSet<>();
+
+    private JsonWriter jsonWriter;
+
+    @Override
+    protected String getContentType() {
+        return "application/x-ndjson";
+    }
+
+    @Override
+    protected String getFileExtension() {
+        return "jsonl";
+    }
+
+    @Override
+    protected void startTable(final Writer writer, final String title, final List<String> headers) {
+        keys.clear();
+        usedKeys.clear();
+        for (final String header : headers) {
+            addKey(header);
+        }
+
+        if (jsonWriter == null) {
+            jsonWriter = new JsonWriter(writer);
+            // lenient allows multiple top level values
+            jsonWriter.setLenient(true);
+        }
+    }
+
+    @Override
+    protected void writeRow(final Writer writer, final List<String> values) throws IOException {
+        jsonWriter.beginObject();
+        for (int i = 0; i < values.size(); i++) {
+            if (i == keys.size()) {
+                addKey(null);
+            }
+            jsonWriter.name(keys.get(i));
+            jsonWriter.value(values.get(i));
+        }
+        jsonWriter.endObject();
+        // JsonWriter does not buffer, the line break goes right after the object
+        writer.write('\n');
+    }
+
+    /**
+     * Adds the key of the next column. Duplicate keys would make the values of all but one column unreadable for most JSON parsers, so a repeated key is
+     * made unique by a suffix.
+     *
+     * @param header the header text of the column
+     */
+    protected void addKey(final String header) {
+        final String key = LangUtils.isValueBlank(header) ? "column" + (keys.size() + 1) : header;
+        String uniqueKey = key;
+        for (int i = 2; !usedKeys.add(uniqueKey); i++) {
+            uniqueKey = key + "_" + i;
+        }
+        keys.add(uniqueKey);
+    }
+
+    /**
+     * Gets the keys of the columns of the current table.
+     *
+     * @return the keys
+     */
+    protected List<String> getKeys() {
+        return keys;
+    }
+
+    @Override
+    protected void endTable(final Writer writer, final List<String> footers) {
+        // footers are no data
+    }
+}
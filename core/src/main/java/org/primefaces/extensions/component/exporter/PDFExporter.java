@@ -64,6 +64,12 @@ import com.lowagie.text.pdf.PdfWriter;
 @Deprecated
 public class PDFExporter extends Exporter {
 
+    /**
+     * Number of table rows a streaming export buffers before writing them to the document.
+     */
+    protected static final int STREAMING_ROW_CHUNK = 100;
+
+    private Document document;
     private Font cellFont;
     private Font facetFont;
     private Color facetBackground;
@@ -83,17 +89,29 @@ public class PDFExporter extends Exporter {
                 final String encodingType, final MethodExpression preProcessor, final MethodExpression postProcessor, final boolean subTable)
                 throws IOException {
         try {
-            final Document document = new Document();
+            document = new Document();
             if (orientation.equalsIgnoreCase("Landscape")) {
                 document.setPageSize(PageSize.A4.rotate());
             }
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, baos);
+            ByteArrayOutputStream baos = null;
+            if (streaming) {
+                // the length is unknown up front, so the response falls back to chunked transfer encoding
+                writePDFHeaders(context.getExternalContext(), filename);
+                PdfWriter.getInstance(document, context.getExternalContext().getResponseOutputStream());
+            }
+            else {
+                baos = new ByteArrayOutputStream();
+                PdfWriter.getInstance(document, baos);
+            }
 
             if (preProcessor != null) {
                 preProcessor.invoke(context.getELContext(), new Object[] {document});
             }
 
+            if (parallel && !pageOnly && !selectionOnly && !subTable) {
+                prefetchLazyData(context, event.getComponent(), tableId);
+            }
+
             final String tokenString = ExtLangUtils.normalizeSpace(tableId.replace(',', ' '));
             final StringTokenizer st = new StringTokenizer(tokenString, " ");
             while (st.hasMoreElements()) {
@@ -115,7 +133,7 @@ public class PDFExporter extends Exporter {
                 }
                 if (tableTitle != null && !tableTitle.isEmpty() && !tableId.contains(",")) {
 
-                    final Font tableTitleFont = FontFactory.getFont(FontFactory.TIMES, encodingType, Font.DEFAULTSIZE, Font.BOLD);
+                    final Font tableTitleFont = PDFFontCache.getFont(FontFactory.TIMES, encodingType, Font.DEFAULTSIZE, Font.BOLD, null, null, null);
                     final Paragraph title = new Paragraph(tableTitle, tableTitleFont);
                     document.add(title);
 
@@ -150,12 +168,39 @@ public class PDFExporter extends Exporter {
 
             document.close();
 
-            writePDFToResponse(context.getExternalContext(), baos, filename);
+            if (streaming) {
+                context.getExternalContext().responseFlushBuffer();
+            }
+            else {
+                writePDFToResponse(context.getExternalContext(), baos, filename);
+            }
 
         }
         catch (final DocumentException e) {
             throw new IOException(e.getMessage());
         }
+        finally {
+            cancelPrefetchedData();
+            document = null;
+        }
+    }
+
+    /**
+     * Writes the buffered rows of a table to the document in streaming mode, so they do not pile up in memory. The table must have been created with
+     * {@link PdfPTable#setComplete(boolean)} set to false; added rows are removed from the table.
+     *
+     * @param pdfTable the table
+     */
+    protected void flushRows(final PdfPTable pdfTable) {
+        if (!streaming || pdfTable.isComplete() || pdfTable.size() < STREAMING_ROW_CHUNK) {
+            return;
+        }
+        try {
+            document.add(pdfTable);
+        }
+        catch (final DocumentException e) {
+            throw new FacesException(e);
+        }
     }
 
     protected PdfPTable exportPDFTable(final FacesContext context, final DataTable table, final boolean pageOnly, final boolean selectionOnly,
@@ -170,6 +215,7 @@ public class PDFExporter extends Exporter {
             SubTable subtable = table.getSubTable();
             final int subTableColumnsCount = Exporter.getColumnsCount(subtable);
             pdfTable = new PdfPTable(subTableColumnsCount);
+            pdfTable.setComplete(!streaming);
 
             if (table.getHeader() != null) {
                 tableFacet(context, pdfTable, table, subTableColumnsCount, ColumnType.HEADER.facet());
@@ -220,6 +266,8 @@ public class PDFExporter extends Exporter {
                 tableFacet(context, pdfTable, table, subTableColumnsCount, ColumnType.FOOTER.facet());
             }
 
+            // the remaining rows are added by the caller
+            pdfTable.setComplete(true);
         }
         else {
 
@@ -228,6 +276,7 @@ public class PDFExporter extends Exporter {
             }
 
             pdfTable = new PdfPTable(columnsCount);
+            pdfTable.setComplete(!streaming);
 
             if (table.getHeader() != null) {
                 tableFacet(context, pdfTable, table, columnsCount, ColumnType.HEADER.facet());
@@ -256,6 +305,8 @@ public class PDFExporter extends Exporter {
 
             table.setRowIndex(-1);
 
+            // the remaining rows are added by the caller
+            pdfTable.setComplete(true);
         }
         return pdfTable;
 
@@ -368,22 +419,7 @@ public class PDFExporter extends Exporter {
         final boolean lazy = table.isLazy();
 
         if (lazy) {
-            if (rowCount > 0) {
-                table.setFirst(0);
-                table.setRows(rowCount);
-                table.clearLazyCache();
-                table.loadLazyData();
-            }
-
-            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-                exportRow(table, pdfTable, rowIndex);
-            }
-
-            // restore
-            table.setFirst(first);
-            table.setRowIndex(-1);
-            table.clearLazyCache();
-            table.loadLazyData();
+            exportLazyRows(table, rowIndex -> exportRow(table, pdfTable, rowIndex));
         }
         else {
             tableColumnGroup(pdfTable, table, ColumnType.HEADER.facet());
@@ -648,6 +684,7 @@ public class PDFExporter extends Exporter {
                 pdfTable.addCell(cell);
             }
         }
+        flushRows(pdfTable);
     }
 
     protected void subTableExportRow(final SubTable table, final PdfPTable pdfTable, final int rowIndex) {
@@ -658,6 +695,7 @@ public class PDFExporter extends Exporter {
         }
 
         subTableExportCells(table, pdfTable);
+        flushRows(pdfTable);
     }
 
     protected void exportCells(final DataTable table, final PdfPTable pdfTable) {
@@ -923,33 +961,9 @@ public class PDFExporter extends Exporter {
     }
 
     protected void createCustomFonts(final String encoding) {
-
-        if (fontName != null && FontFactory.getFont(fontName).getBaseFont() != null) {
-            cellFont = FontFactory.getFont(fontName, encoding);
-            facetFont = FontFactory.getFont(fontName, encoding, Font.DEFAULTSIZE, Font.BOLD);
-        }
-        else {
-            cellFont = FontFactory.getFont(FontFactory.TIMES, encoding);
-            facetFont = FontFactory.getFont(FontFactory.TIMES, encoding, Font.DEFAULTSIZE, Font.BOLD);
-        }
-        if (facetFontColor != null) {
-            facetFont.setColor(facetFontColor);
-        }
-        if (facetFontSize != null) {
-            facetFont.setSize(facetFontSize);
-        }
-        if (facetFontStyle != null) {
-            facetFont.setStyle(facetFontStyle);
-        }
-        if (cellFontColor != null) {
-            cellFont.setColor(cellFontColor);
-        }
-        if (cellFontSize != null) {
-            cellFont.setSize(cellFontSize);
-        }
-        if (cellFontStyle != null) {
-            cellFont.setStyle(cellFontStyle);
-        }
+        final String name = fontName != null && PDFFontCache.hasBaseFont(fontName) ? fontName : FontFactory.TIMES;
+        cellFont = PDFFontCache.getFont(name, encoding, Font.UNDEFINED, Font.UNDEFINED, cellFontSize, cellFontStyle, cellFontColor);
+        facetFont = PDFFontCache.getFont(name, encoding, Font.DEFAULTSIZE, Font.BOLD, facetFontSize, facetFontStyle, facetFontColor);
     }
 
     private static void addEmptyLine(final Paragraph paragraph, final int number) {
@@ -960,16 +974,20 @@ public class PDFExporter extends Exporter {
 
     protected static void writePDFToResponse(final ExternalContext externalContext, final ByteArrayOutputStream baos, final String fileName)
                 throws IOException {
+        writePDFHeaders(externalContext, fileName);
+        externalContext.setResponseContentLength(baos.size());
+        final OutputStream out = externalContext.getResponseOutputStream();
+        baos.writeTo(out);
+        externalContext.responseFlushBuffer();
+    }
+
+    protected static void writePDFHeaders(final ExternalContext externalContext, final String fileName) {
         externalContext.setResponseContentType("application/pdf");
         externalContext.setResponseHeader("Expires", "0");
         externalContext.setResponseHeader("Cache-Control", "must-revalidate, post-check=0, pre-check=0");
         externalContext.setResponseHeader("Pragma", "public");
         externalContext.setResponseHeader("Content-disposition", "attachment;filename=" + fileName + ".pdf");
-        externalContext.setResponseContentLength(baos.size());
         externalContext.addResponseCookie(Constants.DOWNLOAD_COOKIE, "true", Collections.emptyMap());
-        final OutputStream out = externalContext.getResponseOutputStream();
-        baos.writeTo(out);
-        externalContext.responseFlushBuffer();
     }
 
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+
+/**
+ * Application wide cache of the fonts used by the PDF exporter. Looking up a font in the FontFactory, and parsing it for embedded or non-default
+ * encodings, is done once per distinct font name, encoding, size, style and color instead of on every export. The cached fonts are shared between
+ * exports and must not be modified.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+final class PDFFontCache {
+
+    /**
+     * Upper bound of cached fonts, further fonts are created per export.
+     */
+    private static final int MAX_FONTS = 256;
+
+    private static final Map<List<Object>, Font> FONTS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Boolean> BASE_FONTS = new ConcurrentHashMap<>();
+
+    private PDFFontCache() {
+        // hide constructor
+    }
+
+    /**
+     * Checks whether the FontFactory knows a font with the given name.
+     *
+     * @param fontName the font name
+     * @return true if the font has a base font
+     */
+    static boolean hasBaseFont(final String fontName) {
+        return BASE_FONTS.computeIfAbsent(fontName, name -> FontFactory.getFont(name).getBaseFont() != null);
+    }
+
+    /**
+     * Gets a font from the FontFactory and applies the given overrides.
+     *
+     * @param name the font name
+     * @param encoding the encoding
+     * @param baseSize the size passed to the FontFactory, {@link Font#UNDEFINED} for the default
+     * @param baseStyle the style passed to the FontFactory, {@link Font#UNDEFINED} for the default
+     * @param size the size to set or null
+     * @param style the style to add as with {@link Font#setStyle(String)} or null
+     * @param color the color or null
+     * @return the shared font
+     */
+    static Font getFont(final String name, final String encoding, final float baseSize, final int baseStyle, final Float size, final String style,
+                final Color color) {
+        final List<Object> key = Arrays.asList(name, encoding, baseSize, baseStyle, size, style, color);
+        final Font font = FONTS.get(key);
+        if (font != null) {
+            return font;
+        }
+        if (FONTS.size() >= MAX_FONTS) {
+            return createFont(name, encoding, baseSize, baseStyle, size, style, color);
+        }
+        return FONTS.computeIfAbsent(key, k -> createFont(name, encoding, baseSize, baseStyle, size, style, color));
+    }
+
+    private static Font createFont(final String name, final String encoding, final float baseSize, final int baseStyle, final Float size,
+                final String style, final Color color) {
+        final Font font = FontFactory.getFont(name, encoding, baseSize, baseStyle);
+        if (color != null) {
+            font.setColor(color);
+        }
+        if (size != null) {
+            font.setSize(size);
+        }
+        if (style != null) {
+            font.setStyle(style);
+        }
+        return font;
+    }
+}
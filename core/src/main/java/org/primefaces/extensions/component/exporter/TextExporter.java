@@ -0,0 +1,595 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.zip.GZIPOutputStream;
+
+import javax.el.MethodExpression;
+import javax.el.ValueExpression;
+import javax.faces.FacesException;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIPanel;
+import javax.faces.component.html.HtmlCommandButton;
+import javax.faces.component.html.HtmlCommandLink;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.event.ActionEvent;
+
+import org.primefaces.component.api.DynamicColumn;
+import org.primefaces.component.api.UIColumn;
+import org.primefaces.component.column.Column;
+import org.primefaces.component.datalist.DataList;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.component.subtable.SubTable;
+import org.primefaces.expression.SearchExpressionFacade;
+import org.primefaces.extensions.util.ExtLangUtils;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.util.Constants;
+import org.primefaces.util.LangUtils;
+
+/**
+ * Base class of the exporters writing plain text formats. Rows are written one by one through a buffered writer directly to the response, so the memory
+ * needed does not grow with the number of exported rows. Optionally the output is gzip compressed.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ * @deprecated part of the deprecated exporter component like {@link Exporter}, it is removed with it; use core Primefaces DataExporter
+ */
+@Deprecated
+public abstract class TextExporter extends Exporter {
+
+    /**
+     * Size of the write buffer in chars.
+     */
+    protected static final int BUFFER_SIZE = 8192;
+
+    protected String delimiter = ",";
+
+    protected String quoting = "minimal";
+
+    protected boolean gzip;
+
+    private Writer writer;
+
+    private final List<String> values = new ArrayList<>();
+
+    @Override
+    public void export(final ActionEvent event, final String tableId, final FacesContext context, final String filename, final String tableTitle,
+                final boolean pageOnly, final boolean selectionOnly,
+                final String encodingType, final MethodExpression preProcessor, final MethodExpression postProcessor, final boolean subTable)
+                throws IOException {
+
+        final ExternalContext externalContext = context.getExternalContext();
+        writeTextHeaders(externalContext, filename);
+
+        // closing the writer finishes the gzip stream and releases its deflater, also if the export fails
+        try (Writer textWriter = openWriter(externalContext.getResponseOutputStream(), getCharset(encodingType))) {
+            writer = textWriter;
+            if (preProcessor != null) {
+                preProcessor.invoke(context.getELContext(), new Object[] {writer});
+            }
+
+            final String tokenString = ExtLangUtils.normalizeSpace(tableId.replace(',', ' '));
+            final StringTokenizer st = new StringTokenizer(tokenString, " ");
+            while (st.hasMoreElements()) {
+                final String tableName = (String) st.nextElement();
+                final UIComponent component = SearchExpressionFacade.resolveComponent(context, event.getComponent(), tableName);
+                if (component == null) {
+                    throw new FacesException("Cannot find component \"" + tableName + "\" in view.");
+                }
+                if (!(component instanceof DataTable || component instanceof DataList)) {
+                    throw new FacesException(
+                                "Unsupported datasource target:\"" + component.getClass().getName()
+                                            + "\", exporter must target a PrimeFaces DataTable/DataList.");
+                }
+                if (!component.isRendered()) {
+                    continue;
+                }
+
+                final String title = tableTitle != null && !tableTitle.isEmpty() && !tableId.contains(",") ? tableTitle : null;
+                if (component instanceof DataList) {
+                    exportList(context, (DataList) component, title, pageOnly);
+                }
+                else {
+                    exportTable(context, (DataTable) component, title, pageOnly, selectionOnly, subTable);
+                }
+            }
+
+            if (postProcessor != null) {
+                postProcessor.invoke(context.getELContext(), new Object[] {writer});
+            }
+        }
+        catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        finally {
+            writer = null;
+        }
+    }
+
+    @Override
+    public void customFormat(final String facetBackground, final String facetFontSize, final String facetFontColor, final String facetFontStyle,
+                final String fontName, final String cellFontSize, final String cellFontColor, final String cellFontStyle, final String datasetPadding,
+                final String orientation) {
+        // plain text has no formatting
+    }
+
+    /**
+     * Snapshots a table for an asynchronous export. The rendered and exportable columns, their header and footer texts and the rows (or for lazy tables
+     * the detached model of an {@link AsyncExportable} with the sort and filter state) are captured now, the cell expressions are evaluated later by the job against the captured rows. Columns
+     * with an exportFunction and dynamic columns can not be exported asynchronously, converters are not applied.
+     *
+     * @param event the ActionEvent
+     * @param tableId the search expression of the table
+     * @param context the FacesContext
+     * @param filename the file name without extension
+     * @param tableTitle the title or null
+     * @param encodingType the charset
+     * @return the job, not yet submitted
+     */
+    public ExportJob createJob(final ActionEvent event, final String tableId, final FacesContext context, final String filename, final String tableTitle,
+                final String encodingType) {
+        final UIComponent component = SearchExpressionFacade.resolveComponent(context, event.getComponent(), tableId);
+        if (!(component instanceof DataTable)) {
+            throw new FacesException("Asynchronous exports must target a single PrimeFaces DataTable.");
+        }
+        final DataTable table = (DataTable) component;
+
+        final List<ExportJob.ExportColumn> columns = new ArrayList<>();
+        for (final UIColumn col : table.getColumns()) {
+            if (col instanceof DynamicColumn) {
+                throw new FacesException("Dynamic columns can not be exported asynchronously.");
+            }
+            if (!col.isRendered() || !col.isExportable()) {
+                continue;
+            }
+            if (col.getExportFunction() != null) {
+                throw new FacesException("Columns with an exportFunction can not be exported asynchronously.");
+            }
+
+            final ExportJob.ExportColumn column = new ExportJob.ExportColumn();
+            for (final UIComponent child : col.getChildren()) {
+                snapshotCell(context, column, child);
+            }
+            columns.add(column);
+        }
+
+        final List<String> headers = getColumnFacets(context, table.getColumns(), ColumnType.HEADER);
+        final List<String> footers = table.hasFooterColumn() ? getColumnFacets(context, table.getColumns(), ColumnType.FOOTER) : null;
+
+        List<?> rows = null;
+        LazyDataModel<?> lazyModel = null;
+        Map<String, SortMeta> sortBy = null;
+        Map<String, FilterMeta> filterBy = null;
+        if (table.isLazy()) {
+            // the view scoped model of the table must not be used by another thread
+            final Object value = table.getValue();
+            if (!(value instanceof AsyncExportable)) {
+                throw new FacesException("Asynchronous exports of lazy tables require a LazyDataModel implementing "
+                            + AsyncExportable.class.getName() + ".");
+            }
+            lazyModel = ((AsyncExportable) value).detachForExport();
+            sortBy = new HashMap<>(table.getSortByAsMap());
+            filterBy = new HashMap<>(table.getFilterByAsMap());
+        }
+        else {
+            // the filtered and sorted order of the table
+            final Object value = table.getFilteredValue() != null ? table.getFilteredValue() : table.getValue();
+            if (value instanceof Collection) {
+                rows = new ArrayList<>((Collection<?>) value);
+            }
+            else if (value != null && value.getClass().isArray()) {
+                final List<Object> list = new ArrayList<>();
+                for (int i = 0; i < Array.getLength(value); i++) {
+                    list.add(Array.get(value, i));
+                }
+                rows = list;
+            }
+            else if (value == null) {
+                rows = Collections.emptyList();
+            }
+            else {
+                throw new FacesException("Unsupported value of an asynchronous export: " + value.getClass().getName());
+            }
+        }
+
+        final String title = tableTitle != null && !tableTitle.isEmpty() ? tableTitle : null;
+        return new ExportJob(context.getExternalContext().getSessionId(true), this, filename, getCharset(encodingType), title, headers, footers,
+                    columns, table.getVar(), rows, lazyModel, sortBy, filterBy, chunkSize);
+    }
+
+    private void snapshotCell(final FacesContext context, final ExportJob.ExportColumn column, final UIComponent component) {
+        if (!component.isRendered()) {
+            return;
+        }
+
+        ValueExpression expression = null;
+        switch (getValuePlan(context, component).getKind()) {
+            case CELL_EDITOR:
+                snapshotCell(context, column, component.getFacet("output"));
+                return;
+            case SKIPPED:
+                return;
+            case GRAPHIC_IMAGE:
+                expression = component.getValueExpression("alt");
+                break;
+            case VALUE_HOLDER:
+            case COMMAND_LINK:
+            case COMMAND_BUTTON:
+                expression = component.getValueExpression("value");
+                break;
+            default:
+                break;
+        }
+
+        if (expression != null) {
+            column.addExpression(expression);
+        }
+        else {
+            column.addText(exportValue(context, component));
+        }
+    }
+
+    /**
+     * Sets the field delimiter of the CSV exporter.
+     *
+     * @param delimiterValue the delimiter
+     */
+    public void setDelimiter(final String delimiterValue) {
+        delimiter = delimiterValue;
+    }
+
+    /**
+     * Sets how the CSV exporter quotes fields: "minimal" quotes only fields containing the delimiter, quotes or line breaks, "all" quotes every field and
+     * "none" never quotes.
+     *
+     * @param quotingValue the quoting mode
+     */
+    public void setQuoting(final String quotingValue) {
+        quoting = quotingValue;
+    }
+
+    /**
+     * Enables gzip compression of the export.
+     *
+     * @param gzipValue true to compress the export
+     */
+    public void setGzip(final boolean gzipValue) {
+        gzip = gzipValue;
+    }
+
+    /**
+     * Gets the content type of the uncompressed export.
+     *
+     * @return the content type
+     */
+    protected abstract String getContentType();
+
+    /**
+     * Gets the file extension of the uncompressed export, without the dot.
+     *
+     * @return the file extension
+     */
+    protected abstract String getFileExtension();
+
+    /**
+     * Starts a table. Called before the first row of each exported table.
+     *
+     * @param writer the writer
+     * @param title the title of the table or null
+     * @param headers the texts of the column headers, empty strings for columns without header
+     * @throws IOException if any IO error occurs
+     */
+    protected abstract void startTable(Writer writer, String title, List<String> headers) throws IOException;
+
+    /**
+     * Writes a row.
+     *
+     * @param writer the writer
+     * @param values the values of the exported columns
+     * @throws IOException if any IO error occurs
+     */
+    protected abstract void writeRow(Writer writer, List<String> values) throws IOException;
+
+    /**
+     * Ends a table. Called after the last row of each exported table.
+     *
+     * @param writer the writer
+     * @param footers the texts of the column footers, null if the table has no footer
+     * @throws IOException if any IO error occurs
+     */
+    protected abstract void endTable(Writer writer, List<String> footers) throws IOException;
+
+    protected void exportTable(final FacesContext context, final DataTable table, final String title, final boolean pageOnly,
+                final boolean selectionOnly, final boolean subTable) throws IOException {
+
+        if (subTable) {
+            exportSubTables(context, table, title);
+            return;
+        }
+
+        startTable(writer, title, getColumnFacets(context, table.getColumns(), ColumnType.HEADER));
+
+        if (pageOnly) {
+            final int first = table.getFirst();
+            final int rowsToExport = first + table.getRows();
+            for (int rowIndex = first; rowIndex < rowsToExport; rowIndex++) {
+                exportRow(context, table, rowIndex);
+            }
+        }
+        else if (selectionOnly) {
+            exportSelectionOnly(context, table);
+        }
+        else if (table.isLazy()) {
+            exportLazyRows(table, rowIndex -> exportRow(context, table, rowIndex));
+        }
+        else {
+            final int first = table.getFirst();
+            final int rowCount = table.getRowCount();
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                exportRow(context, table, rowIndex);
+            }
+            // restore
+            table.setFirst(first);
+        }
+        table.setRowIndex(-1);
+
+        endTable(writer, table.hasFooterColumn() ? getColumnFacets(context, table.getColumns(), ColumnType.FOOTER) : null);
+    }
+
+    protected void exportSubTables(final FacesContext context, final DataTable table, final String title) throws IOException {
+        final int rowCount = table.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            table.setRowIndex(i);
+            final SubTable subtable = table.getSubTable();
+
+            startTable(writer, i == 0 ? title : null, getColumnFacets(context, subtable.getColumns(), ColumnType.HEADER));
+            final int subTableRowCount = subtable.getRowCount();
+            for (int rowIndex = 0; rowIndex < subTableRowCount; rowIndex++) {
+                subtable.setRowIndex(rowIndex);
+                if (subtable.isRowAvailable()) {
+                    writeColumns(context, subtable.getColumns());
+                }
+            }
+            subtable.setRowIndex(-1);
+            endTable(writer, Exporter.hasFooterColumn(subtable) ? getColumnFacets(context, subtable.getColumns(), ColumnType.FOOTER) : null);
+        }
+        table.setRowIndex(-1);
+    }
+
+    protected void exportSelectionOnly(final FacesContext context, final DataTable table) {
+        final Object selection = table.getSelection();
+        final String var = table.getVar();
+
+        if (selection != null) {
+            final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+
+            if (selection.getClass().isArray()) {
+                final int size = Array.getLength(selection);
+                for (int i = 0; i < size; i++) {
+                    requestMap.put(var, Array.get(selection, i));
+                    writeColumns(context, table.getColumns());
+                }
+            }
+            else if (Collection.class.isAssignableFrom(selection.getClass())) {
+                for (final Object o : (Collection<?>) selection) {
+                    requestMap.put(var, o);
+                    writeColumns(context, table.getColumns());
+                }
+            }
+            else {
+                requestMap.put(var, selection);
+                writeColumns(context, table.getColumns());
+            }
+        }
+    }
+
+    protected void exportRow(final FacesContext context, final DataTable table, final int rowIndex) {
+        table.setRowIndex(rowIndex);
+        if (!table.isRowAvailable()) {
+            return;
+        }
+
+        writeColumns(context, table.getColumns());
+    }
+
+    protected void exportList(final FacesContext context, final DataList list, final String title, final boolean pageOnly) throws IOException {
+        final UIComponent header = list.getHeader();
+        startTable(writer, title, header == null ? Collections.emptyList() : Collections.singletonList(exportFacet(context, header)));
+
+        final int first = list.getFirst();
+        if (pageOnly) {
+            final int rowsToExport = first + list.getRows();
+            for (int rowIndex = first; rowIndex < rowsToExport; rowIndex++) {
+                exportRow(context, list, rowIndex);
+            }
+        }
+        else {
+            final int rowCount = list.getRowCount();
+            final int rows = list.getRows();
+            final boolean lazy = list.isLazy();
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                if (lazy && rowIndex % rows == 0) {
+                    list.setFirst(rowIndex);
+                    list.loadLazyData();
+                }
+                exportRow(context, list, rowIndex);
+            }
+
+            // restore
+            list.setFirst(first);
+            if (lazy) {
+                list.loadLazyData();
+            }
+        }
+        list.setRowIndex(-1);
+
+        endTable(writer, null);
+    }
+
+    protected void exportRow(final FacesContext context, final DataList list, final int rowIndex) {
+        list.setRowIndex(rowIndex);
+        if (!list.isRowAvailable()) {
+            return;
+        }
+
+        values.clear();
+        for (final UIComponent component : list.getChildren()) {
+            if (component instanceof Column) {
+                for (final UIComponent childComponent : component.getChildren()) {
+                    values.add(component.isRendered() ? exportValue(context, childComponent) : Constants.EMPTY_STRING);
+                }
+            }
+            else {
+                values.add(component.isRendered() ? exportValue(context, component) : Constants.EMPTY_STRING);
+            }
+        }
+        writeValues();
+    }
+
+    /**
+     * Writes the values of the exportable columns for the current row.
+     */
+    protected void writeColumns(final FacesContext context, final List<UIColumn> columns) {
+        values.clear();
+        for (final UIColumn col : columns) {
+            if (col instanceof DynamicColumn) {
+                ((DynamicColumn) col).applyStatelessModel();
+            }
+
+            if (col.isRendered() && col.isExportable()) {
+                values.add(exportColumnValue(context, col));
+            }
+        }
+        writeValues();
+    }
+
+    protected String exportColumnValue(final FacesContext context, final UIColumn column) {
+        if (column.getExportFunction() != null) {
+            return Exporter.exportColumnByFunction(context, column);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (final UIComponent component : column.getChildren()) {
+            if (component.isRendered()) {
+                final String value = exportValue(context, component);
+                if (value != null) {
+                    builder.append(value);
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    protected List<String> getColumnFacets(final FacesContext context, final List<UIColumn> columns, final ColumnType columnType) {
+        final List<String> facets = new ArrayList<>();
+        for (final UIColumn col : columns) {
+            if (col instanceof DynamicColumn) {
+                ((DynamicColumn) col).applyStatelessModel();
+            }
+
+            if (col.isRendered() && col.isExportable()) {
+                final UIComponent facet = col.getFacet(columnType.facet());
+                String text;
+                if (facet != null) {
+                    text = exportFacet(context, facet);
+                }
+                else {
+                    text = columnType == ColumnType.HEADER ? col.getHeaderText() : col.getFooterText();
+                }
+                facets.add(text == null ? Constants.EMPTY_STRING : text);
+            }
+        }
+        return facets;
+    }
+
+    protected String exportFacet(final FacesContext context, final UIComponent component) {
+        if (component instanceof HtmlCommandButton || component instanceof HtmlCommandLink) {
+            return exportValue(context, component);
+        }
+        else if (component instanceof UIPanel) {
+            final StringBuilder builder = new StringBuilder();
+            for (final UIComponent child : component.getChildren()) {
+                builder.append(exportValue(context, child));
+            }
+            return builder.toString();
+        }
+        return Exporter.exportFacetValue(context, component);
+    }
+
+    /**
+     * Writes the collected values. The rows are written from row callbacks which can not throw checked exceptions, so IO errors are rethrown unchecked
+     * and unwrapped again in {@link #export}.
+     */
+    private void writeValues() {
+        try {
+            writeRow(writer, values);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the buffered writer of an export, compressing the output if gzip is enabled. Closing the writer finishes the compressed stream and closes the
+     * target stream.
+     *
+     * @param out the target stream
+     * @param charset the charset
+     * @return the writer
+     * @throws IOException if any IO error occurs
+     */
+    protected Writer openWriter(final OutputStream out, final Charset charset) throws IOException {
+        final OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        return new BufferedWriter(new OutputStreamWriter(target, charset), BUFFER_SIZE);
+    }
+
+    protected Charset getCharset(final String encodingType) {
+        // "-" disables the custom fonts of the PDF exporter, it is no charset
+        if (LangUtils.isValueBlank(encodingType) || "-".equals(encodingType)) {
+            return StandardCharsets.UTF_8;
+        }
+        return Charset.forName(encodingType);
+    }
+
+    protected void writeTextHeaders(final ExternalContext externalContext, final String filename) {
+        externalContext.setResponseContentType(gzip ? "application/gzip" : getContentType());
+        externalContext.setResponseHeader("Expires", "0");
+        externalContext.setResponseHeader("Cache-Control", "must-revalidate, post-check=0, pre-check=0");
+        externalContext.setResponseHeader("Pragma", "public");
+        externalContext.setResponseHeader("Content-disposition",
+                    "attachment;filename=" + filename + "." + getFileExtension() + (gzip ? ".gz" : Constants.EMPTY_STRING));
+        externalContext.addResponseCookie(Constants.DOWNLOAD_COOKIE, "true", Collections.emptyMap());
+    }
+}
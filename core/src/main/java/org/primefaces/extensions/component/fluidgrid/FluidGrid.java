@@ -15,6 +15,7 @@
  */
 package org.primefaces.extensions.component.fluidgrid;
 
+import java.io.IOException;
 import java.util.*;
 
 import javax.faces.FacesException;
@@ -29,6 +30,7 @@ import javax.faces.context.FacesContext;
 import javax.faces.event.AjaxBehaviorEvent;
 import javax.faces.event.FacesEvent;
 import javax.faces.event.PhaseId;
+import javax.faces.render.Renderer;
 
 import org.primefaces.component.api.Widget;
 import org.primefaces.extensions.component.base.AbstractDynamicData;
@@ -60,6 +62,12 @@ public class FluidGrid extends AbstractDynamicData implements Widget, ClientBeha
 
     private Map<String, UIFluidGridItem> items;
 
+    private boolean encodingItems;
+
+    private Map<String, FluidGridItem> itemsByKey;
+    private Collection<?> indexedValue;
+    private int indexedSize;
+
     /**
      * Properties that are tracked by state saving.
      *
@@ -243,6 +251,36 @@ public class FluidGrid extends AbstractDynamicData implements Widget, ClientBeha
         return items;
     }
 
+    boolean isEncodingItems() {
+        return encodingItems;
+    }
+
+    void setEncodingItems(final boolean encodingItems) {
+        this.encodingItems = encodingItems;
+    }
+
+    /**
+     * Encodes a single item on its own, e.g. for an Ajax update targeting the item.
+     *
+     * @param context faces context {@link FacesContext}
+     * @param uiItem the item
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeItem(final FacesContext context, final UIFluidGridItem uiItem) throws IOException {
+        final Renderer renderer = getRenderer(context);
+        if (!(renderer instanceof FluidGridRenderer)) {
+            throw new FacesException("Single items can only be updated with the FluidGridRenderer");
+        }
+
+        encodingItems = true;
+        try {
+            ((FluidGridRenderer) renderer).encodeItem(context, this, uiItem);
+        }
+        finally {
+            encodingItems = false;
+        }
+    }
+
     protected static void checkModelInstance(Object value) {
         if (!(value instanceof Collection<?>)) {
             throw new FacesException("Value in FluidGrid must be of type Collection / List");
@@ -258,14 +296,41 @@ public class FluidGrid extends AbstractDynamicData implements Widget, ClientBeha
 
         checkModelInstance(value);
 
-        final Collection<FluidGridItem> col = (Collection<FluidGridItem>) value;
-        for (final FluidGridItem fluidGridItem : col) {
-            if (key.equals(fluidGridItem.getKey())) {
-                return fluidGridItem;
-            }
+        return findItem((Collection<FluidGridItem>) value, key);
+    }
+
+    /**
+     * Finds the item with the given key in the value of this component. The items are indexed by their keys, the index is rebuilt when the value is
+     * replaced or its size changes. A miss rebuilds the index once, so keys changed via setKey() are found as well.
+     *
+     * @param fluidGridItems the value
+     * @param key unique key
+     * @return FluidGridItem found item or null
+     */
+    protected FluidGridItem findItem(final Collection<FluidGridItem> fluidGridItems, final String key) {
+        boolean rebuilt = false;
+        if (itemsByKey == null || indexedValue != fluidGridItems || indexedSize != fluidGridItems.size()) {
+            indexItems(fluidGridItems);
+            rebuilt = true;
         }
 
-        return null;
+        FluidGridItem fluidGridItem = itemsByKey.get(key);
+        if (!rebuilt && (fluidGridItem == null || !key.equals(fluidGridItem.getKey()))) {
+            // a key may have been changed via setKey(), rebuild the index once
+            indexItems(fluidGridItems);
+            fluidGridItem = itemsByKey.get(key);
+        }
+
+        return fluidGridItem;
+    }
+
+    private void indexItems(final Collection<FluidGridItem> fluidGridItems) {
+        itemsByKey = new HashMap<>(fluidGridItems.size() * 4 / 3 + 1);
+        for (final FluidGridItem fluidGridItem : fluidGridItems) {
+            itemsByKey.put(fluidGridItem.getKey(), fluidGridItem);
+        }
+        indexedValue = fluidGridItems;
+        indexedSize = fluidGridItems.size();
     }
 
     @Override
@@ -309,9 +374,21 @@ public class FluidGrid extends AbstractDynamicData implements Widget, ClientBeha
             checkModelInstance(value);
 
             final Collection<FluidGridItem> col = (Collection<FluidGridItem>) value;
-            for (final FluidGridItem fluidGridItem : col) {
-                if (visitFluidGridDynamicItems(context, callback, fluidGridItem)) {
-                    return true;
+            final Set<String> keys = getKeysToVisit(context);
+            if (keys == null) {
+                for (final FluidGridItem fluidGridItem : col) {
+                    if (visitFluidGridDynamicItems(context, callback, fluidGridItem)) {
+                        return true;
+                    }
+                }
+            }
+            else {
+                // only visit the items containing the targeted components
+                for (final String key : keys) {
+                    final FluidGridItem fluidGridItem = findItem(col, key);
+                    if (fluidGridItem != null && visitFluidGridDynamicItems(context, callback, fluidGridItem)) {
+                        return true;
+                    }
                 }
             }
 
@@ -343,42 +420,37 @@ public class FluidGrid extends AbstractDynamicData implements Widget, ClientBeha
             String key = clientId.substring(getClientId().length() + 1);
             key = key.substring(0, key.indexOf(UINamingContainer.getSeparatorChar(context)));
 
-            final Collection<FluidGridItem> fluidGridItems = (Collection<FluidGridItem>) value;
-            for (final FluidGridItem fluidGridItem : fluidGridItems) {
-
-                // determine associated FluidGridItem
-                if (fluidGridItem.getKey().equals(key)) {
-
-                    // get UI control for FluidGridItem
-                    UIFluidGridItem uiFluidGridItem = null;
-                    if (getVar() == null) {
-                        for (final UIComponent child : getChildren()) {
-                            if (child instanceof UIFluidGridItem && ((UIFluidGridItem) child).getType().equals(fluidGridItem.getType())) {
-                                uiFluidGridItem = (UIFluidGridItem) child;
-                            }
-                        }
-                    }
-                    else {
-                        uiFluidGridItem = (UIFluidGridItem) getChildren().get(0);
-                    }
+            // determine associated FluidGridItem
+            final FluidGridItem fluidGridItem = findItem((Collection<FluidGridItem>) value, key);
+            if (fluidGridItem == null) {
+                return false;
+            }
 
-                    if (uiFluidGridItem == null) {
-                        continue;
+            // get UI control for FluidGridItem
+            UIFluidGridItem uiFluidGridItem = null;
+            if (getVar() == null) {
+                for (final UIComponent child : getChildren()) {
+                    if (child instanceof UIFluidGridItem && ((UIFluidGridItem) child).getType().equals(fluidGridItem.getType())) {
+                        uiFluidGridItem = (UIFluidGridItem) child;
                     }
+                }
+            }
+            else {
+                uiFluidGridItem = (UIFluidGridItem) getChildren().get(0);
+            }
 
-                    try {
-                        // push the associated data before visiting the child components
-                        setData(fluidGridItem);
+            if (uiFluidGridItem != null) {
+                try {
+                    // push the associated data before visiting the child components
+                    setData(fluidGridItem);
 
-                        // visit childs
-                        if (uiFluidGridItem.invokeOnComponent(context, clientId, callback)) {
-                            return true;
-                        }
-                    }
-                    finally {
-                        resetData();
+                    // visit childs
+                    if (uiFluidGridItem.invokeOnComponent(context, clientId, callback)) {
+                        return true;
                     }
-
+                }
+                finally {
+                    resetData();
                 }
             }
         }
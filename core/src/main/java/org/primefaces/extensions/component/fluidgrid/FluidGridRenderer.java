@@ -52,10 +52,36 @@ public class FluidGridRenderer extends CoreRenderer {
     public void encodeEnd(final FacesContext fc, final UIComponent component) throws IOException {
         final FluidGrid fluidGrid = (FluidGrid) component;
 
-        encodeMarkup(fc, fluidGrid);
+        fluidGrid.setEncodingItems(true);
+        try {
+            encodeMarkup(fc, fluidGrid);
+        }
+        finally {
+            fluidGrid.setEncodingItems(false);
+        }
         encodeScript(fc, fluidGrid);
     }
 
+    /**
+     * Encodes a single item, e.g. for an Ajax update targeting the item, followed by a script which lets the widget swap the item in place. The grid is
+     * only laid out again if the size of the item has changed.
+     *
+     * @param fc faces context {@link FacesContext}
+     * @param fluidGrid the FluidGrid
+     * @param uiItem the item
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeItem(final FacesContext fc, final FluidGrid fluidGrid, final UIFluidGridItem uiItem) throws IOException {
+        final ResponseWriter writer = fc.getResponseWriter();
+        renderItem(fc, writer, fluidGrid, uiItem);
+
+        writer.startElement("script", null);
+        writer.writeAttribute("type", "text/javascript", null);
+        writer.write("(function(w){if(w){w.updateItem('" + uiItem.getClientId(fc) + "');}})(PrimeFaces.widgets['"
+                    + fluidGrid.resolveWidgetVar() + "']);");
+        writer.endElement("script");
+    }
+
     protected void encodeMarkup(final FacesContext fc, final FluidGrid fluidGrid) throws IOException {
         final ResponseWriter writer = fc.getResponseWriter();
         final String clientId = fluidGrid.getClientId(fc);
@@ -156,6 +182,7 @@ public class FluidGridRenderer extends CoreRenderer {
                 final UIFluidGridItem uiItem)
                 throws IOException {
         writer.startElement("div", null);
+        writer.writeAttribute("id", uiItem.getClientId(fc), null);
 
         if (uiItem.getStyleClass() != null) {
             writer.writeAttribute(Attrs.CLASS, GRID_ITEM_CLASS + " " + uiItem.getStyleClass(), null);
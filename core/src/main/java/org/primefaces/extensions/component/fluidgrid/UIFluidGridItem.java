@@ -15,7 +15,11 @@
  */
 package org.primefaces.extensions.component.fluidgrid;
 
+import java.io.IOException;
+
+import javax.faces.component.UIComponent;
 import javax.faces.component.UIComponentBase;
+import javax.faces.context.FacesContext;
 
 import org.primefaces.extensions.model.fluidgrid.FluidGridItem;
 
@@ -50,6 +54,18 @@ public class UIFluidGridItem extends UIComponentBase {
         return COMPONENT_FAMILY;
     }
 
+    @Override
+    public void encodeAll(final FacesContext context) throws IOException {
+        final UIComponent parent = getParent();
+        if (isRendered() && parent instanceof FluidGrid && !((FluidGrid) parent).isEncodingItems()) {
+            // partial update of this item, render the item container too
+            ((FluidGrid) parent).encodeItem(context, this);
+        }
+        else {
+            super.encodeAll(context);
+        }
+    }
+
     public void setType(final String type) {
         getStateHelper().put(PropertyKeys.type, type);
     }
@@ -50,7 +50,7 @@ public class GChart extends UIOutput implements Widget, ClientBehaviorHolder {
 
     @SuppressWarnings("java:S115")
     protected enum PropertyKeys {
-        widgetVar, width, height, title, apiKey, language, extender
+        widgetVar, width, height, title, apiKey, language, extender, incremental
     }
 
     public GChart() {
@@ -128,6 +128,14 @@ public class GChart extends UIOutput implements Widget, ClientBehaviorHolder {
         getStateHelper().put(PropertyKeys.extender, extender);
     }
 
+    public boolean isIncremental() {
+        return (Boolean) getStateHelper().eval(PropertyKeys.incremental, false);
+    }
+
+    public void setIncremental(final boolean incremental) {
+        getStateHelper().put(PropertyKeys.incremental, incremental);
+    }
+
     @Override
     public void queueEvent(final FacesEvent event) {
 
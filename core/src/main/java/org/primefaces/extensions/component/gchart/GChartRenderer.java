@@ -22,6 +22,7 @@ import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 
 import org.primefaces.extensions.component.gchart.model.GChartModel;
+import org.primefaces.extensions.component.gchart.model.IncrementalGChartModel;
 import org.primefaces.renderkit.CoreRenderer;
 import org.primefaces.util.LangUtils;
 import org.primefaces.util.WidgetBuilder;
@@ -62,10 +63,29 @@ public class GChartRenderer extends CoreRenderer {
             apiKey = getApiKey(context);
         }
 
+        final GChartModel model = (GChartModel) chart.getValue();
+        final IncrementalGChartModel incrementalModel = model instanceof IncrementalGChartModel ? (IncrementalGChartModel) model : null;
+        String delta = null;
+        if (incrementalModel != null && chart.isIncremental() && context.getPartialViewContext().isAjaxRequest()) {
+            // only send the changes, the widget applies them to its existing data table
+            delta = incrementalModel.toJsonDelta();
+        }
+
         final WidgetBuilder wb = getWidgetBuilder(context);
-        wb.init("ExtGChart", chart)
-                    .attr("chart", ((GChartModel) chart.getValue()).toJson())
-                    .attr("title", chart.getTitle())
+        wb.init("ExtGChart", chart);
+        if (delta != null) {
+            wb.nativeAttr("delta", delta);
+        }
+        else {
+            // stream the model as JSON object literal directly into the script
+            wb.append(",chart:");
+            model.writeJson(context.getResponseWriter());
+        }
+        if (incrementalModel != null) {
+            incrementalModel.resetChanges();
+        }
+
+        wb.attr("title", chart.getTitle())
                     .attr("apiKey", apiKey)
                     .attr("language", chart.getLanguage())
                     .attr("width", chart.getWidth())
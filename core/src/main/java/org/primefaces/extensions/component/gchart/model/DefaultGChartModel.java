@@ -15,14 +15,23 @@
  */
 package org.primefaces.extensions.component.gchart.model;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
 import org.primefaces.extensions.util.json.GsonConverter;
 
-class DefaultGChartModel implements GChartModel {
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+class DefaultGChartModel implements IncrementalGChartModel {
 
     private static final long serialVersionUID = -4757917806522708660L;
 
@@ -31,6 +40,12 @@ class DefaultGChartModel implements GChartModel {
     private final transient Map<String, Object> options;
     private final transient List<Object> columns;
 
+    // change tracking for incremental updates, lost on serialization which enforces a full render
+    private transient boolean rendered;
+    private transient int renderedRowCount;
+    private transient String renderedStructure;
+    private transient Map<Integer, Map<Integer, Object>> changedCells;
+
     public DefaultGChartModel(final List<GChartModelRow> rows, final GChartType gChartType,
                 final Map<String, Object> options, final List<Object> columns) {
         super();
@@ -61,30 +76,184 @@ class DefaultGChartModel implements GChartModel {
     }
 
     @Override
-    public String toJson() {
-        final com.google.gson.JsonObject root = new com.google.gson.JsonObject();
+    public void appendRow(final String label, final Collection<Object> values) {
+        rows.add(new DefaultGChartModelRow(label, values));
+    }
+
+    @Override
+    public void replaceRow(final int index, final String label, final Collection<Object> values) {
+        final GChartModelRow newRow = new DefaultGChartModelRow(label, values);
+        final GChartModelRow oldRow = rows.set(index, newRow);
+
+        if (!rendered || index >= renderedRowCount) {
+            // the row is not known to the client yet
+            return;
+        }
+
+        if (changedCells == null) {
+            changedCells = new TreeMap<>();
+        }
 
-        root.addProperty("type", getChartType().getChartName());
-        root.add("options", GsonConverter.getGson().toJsonTree(getOptions()));
-        root.add("data", extractData());
+        final Map<Integer, Object> cells = changedCells.computeIfAbsent(index, k -> new TreeMap<>());
+        if (!Objects.equals(oldRow.getLabel(), label)) {
+            cells.put(0, label);
+        }
 
-        return GsonConverter.getGson().toJson(root);
+        final Iterator<Object> oldValues = oldRow.getValues().iterator();
+        int column = 1;
+        for (final Object value : newRow.getValues()) {
+            if (!oldValues.hasNext() || !Objects.equals(oldValues.next(), value)) {
+                cells.put(column, value);
+            }
+            column++;
+        }
+
+        // the new row is shorter, clear the remaining cells
+        while (oldValues.hasNext()) {
+            oldValues.next();
+            cells.put(column++, null);
+        }
     }
 
-    protected com.google.gson.JsonElement extractData() {
-        final Collection<Collection<Object>> dataTable = new ArrayList<>(0);
+    @Override
+    public String toJsonDelta() {
+        if (!rendered || rows.size() < renderedRowCount) {
+            // not rendered yet or rows were removed
+            return null;
+        }
+
+        if (!renderedStructure.equals(toJsonStructure())) {
+            // options or columns were changed
+            return null;
+        }
 
-        dataTable.add(getColumns());
+        final StringWriter out = new StringWriter();
+        try {
+            final JsonWriter writer = newJsonWriter(out);
+            writer.beginObject();
 
+            writer.name("rows").beginArray();
+            for (final GChartModelRow row : rows.subList(renderedRowCount, rows.size())) {
+                writeRow(writer, row);
+            }
+            writer.endArray();
+
+            writer.name("cells").beginArray();
+            if (changedCells != null) {
+                for (final Map.Entry<Integer, Map<Integer, Object>> rowCells : changedCells.entrySet()) {
+                    for (final Map.Entry<Integer, Object> cell : rowCells.getValue().entrySet()) {
+                        writer.beginArray();
+                        writer.value(rowCells.getKey());
+                        writer.value(cell.getKey());
+                        writeValue(writer, cell.getValue());
+                        writer.endArray();
+                    }
+                }
+            }
+            writer.endArray();
+
+            writer.endObject();
+            writer.flush();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toString();
+    }
+
+    @Override
+    public void resetChanges() {
+        rendered = true;
+        renderedRowCount = rows.size();
+        renderedStructure = toJsonStructure();
+        changedCells = null;
+    }
+
+    /**
+     * Gets the options and columns as JSON, a delta can only be applied as long as they are unchanged.
+     *
+     * @return the options and columns as JSON
+     */
+    protected String toJsonStructure() {
+        final StringWriter out = new StringWriter();
+        try {
+            final JsonWriter writer = newJsonWriter(out);
+            writer.beginArray();
+            writeValue(writer, getOptions());
+            writeValue(writer, getColumns());
+            writer.endArray();
+            writer.flush();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toString();
+    }
+
+    @Override
+    public String toJson() {
+        final StringWriter out = new StringWriter();
+        try {
+            final JsonWriter writer = newJsonWriter(out);
+            writeJson(writer);
+            writer.flush();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toString();
+    }
+
+    @Override
+    public void writeJson(final Writer out) throws IOException {
+        // JsonWriter does not buffer, the response writer is neither flushed nor closed
+        writeJson(newJsonWriter(out));
+    }
+
+    protected void writeJson(final JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("type").value(getChartType().getChartName());
+        writer.name("options");
+        writeValue(writer, getOptions());
+
+        writer.name("data").beginArray();
+        writeValue(writer, getColumns());
         for (final GChartModelRow row : getRows()) {
-            final Collection<Object> dataRow = new ArrayList<>(0);
-            dataRow.add(row.getLabel());
-            dataRow.addAll(row.getValues());
+            writeRow(writer, row);
+        }
+        writer.endArray();
+
+        writer.endObject();
+    }
 
-            dataTable.add(dataRow);
+    protected JsonWriter newJsonWriter(final Writer out) throws IOException {
+        final Gson gson = GsonConverter.getGson();
+        final JsonWriter writer = gson.newJsonWriter(out);
+        writer.setHtmlSafe(gson.htmlSafe());
+        writer.setSerializeNulls(gson.serializeNulls());
+
+        return writer;
+    }
+
+    protected void writeRow(final JsonWriter writer, final GChartModelRow row) throws IOException {
+        writer.beginArray();
+        writer.value(row.getLabel());
+        for (final Object value : row.getValues()) {
+            writeValue(writer, value);
         }
+        writer.endArray();
+    }
 
-        return GsonConverter.getGson().toJsonTree(dataTable);
+    protected void writeValue(final JsonWriter writer, final Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        }
+        else {
+            GsonConverter.getGson().toJson(value, value.getClass(), writer);
+        }
     }
 
 }
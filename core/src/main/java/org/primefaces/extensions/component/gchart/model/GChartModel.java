@@ -15,7 +15,9 @@
  */
 package org.primefaces.extensions.component.gchart.model;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Map;
 
@@ -30,4 +32,14 @@ public interface GChartModel extends Serializable {
     GChartType getChartType();
 
     String toJson();
+
+    /**
+     * Writes the same JSON as {@link #toJson()} to the given writer. Implementations should stream the JSON without building it in memory first.
+     *
+     * @param writer the writer, it is not closed
+     * @throws IOException if any IO error occurs
+     */
+    default void writeJson(Writer writer) throws IOException {
+        writer.write(toJson());
+    }
 }
@@ -78,7 +78,7 @@ public class GChartModelBuilder {
         return this;
     }
 
-    public GChartModel build() {
+    public IncrementalGChartModel build() {
         return new DefaultGChartModel(rows, gChartType, options, columns);
     }
 }
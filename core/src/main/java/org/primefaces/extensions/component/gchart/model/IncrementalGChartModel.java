@@ -0,0 +1,57 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.gchart.model;
+
+import java.util.Collection;
+
+/**
+ * {@link GChartModel} tracking the rows appended and replaced since the last render. With the incremental attribute of the <code>gChart</code>, Ajax
+ * updates of such a model only send these changes.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public interface IncrementalGChartModel extends GChartModel {
+
+    /**
+     * Appends a row. With the incremental render mode of the chart only the appended rows are sent to the client on the next Ajax update.
+     *
+     * @param label the row label
+     * @param values the row values
+     */
+    void appendRow(String label, Collection<Object> values);
+
+    /**
+     * Replaces a row. With the incremental render mode of the chart only the changed cells are sent to the client on the next Ajax update.
+     *
+     * @param index the row index
+     * @param label the row label
+     * @param values the row values
+     */
+    void replaceRow(int index, String label, Collection<Object> values);
+
+    /**
+     * Gets the rows and cells changed since the last render. Changes are tracked per model instance, not per client.
+     *
+     * @return the changes as JSON or null if the whole model has to be rendered, e.g. because options or columns were changed
+     */
+    String toJsonDelta();
+
+    /**
+     * Called after the model was rendered, the changes tracked so far are known to the client now.
+     */
+    void resetChanges();
+}
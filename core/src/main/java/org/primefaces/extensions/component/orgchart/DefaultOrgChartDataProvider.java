@@ -0,0 +1,90 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.orgchart;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link OrgChartDataProvider} serving the nodes of a tree held in memory. Used by a lazy <code>orgchart</code> without a data provider, it saves the
+ * rendering and the transfer of the levels not shown but not the loading of the tree. The id index is built once and kept up to date by
+ * {@link #moveNode(OrgChartNode, OrgChartNode, OrgChartNode, int)}, the tree and the index are transient so a provider restored from a serialized
+ * view state no longer matches the value and is replaced.
+ *
+ * @author agent / last modified by $Author$
+ * @version $Revision$
+ * @since 9.0
+ */
+public class DefaultOrgChartDataProvider implements OrgChartDataProvider, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient OrgChartNode root;
+
+    private transient Map<String, OrgChartNode> nodes;
+
+    public DefaultOrgChartDataProvider(final OrgChartNode root) {
+        this.root = root;
+    }
+
+    public OrgChartNode getRoot() {
+        return root;
+    }
+
+    @Override
+    public OrgChartNode getNode(final String id) {
+        if (nodes == null) {
+            reindex();
+        }
+        return nodes.get(id);
+    }
+
+    /**
+     * Moves a node to another parent and updates the index.
+     *
+     * @param node the node to move
+     * @param oldParent the current parent of the node
+     * @param newParent the new parent of the node
+     * @param index the position among the children of the new parent, out of range values append the node
+     * @return true if the node was moved
+     * @see OrgChartHelper#moveNode(Map, OrgChartNode, OrgChartNode, OrgChartNode, int)
+     */
+    public boolean moveNode(final OrgChartNode node, final OrgChartNode oldParent, final OrgChartNode newParent, final int index) {
+        if (nodes == null) {
+            reindex();
+        }
+        return OrgChartHelper.moveNode(nodes, node, oldParent, newParent, index);
+    }
+
+    /**
+     * Rebuilds the id index of the tree, needed when nodes have been added to or removed from the tree outside of the chart.
+     */
+    public void reindex() {
+        nodes = OrgChartHelper.parseOrgChartNodesIntoHashMap(OrgChartHelper.getAllNodesTraverseFromRoot(root));
+    }
+
+    @Override
+    public List<OrgChartNode> getChildren(final OrgChartNode node) {
+        return node.getChildren();
+    }
+
+    @Override
+    public boolean hasChildren(final OrgChartNode node) {
+        return node.getChildCount() > 0;
+    }
+
+}
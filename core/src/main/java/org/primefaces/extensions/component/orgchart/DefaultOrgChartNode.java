@@ -160,6 +160,11 @@ public class DefaultOrgChartNode implements OrgChartNode {
     @Override
     public void setChildren(final List<OrgChartNode> children) {
         this.children = children;
+        if (children != null) {
+            for (final OrgChartNode child : children) {
+                child.setParent(this);
+            }
+        }
     }
 
     @Override
@@ -175,6 +180,7 @@ public class DefaultOrgChartNode implements OrgChartNode {
     @Override
     public void addChild(final OrgChartNode child) {
         children.add(child);
+        child.setParent(this);
     }
 
     @Override
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 
+import javax.faces.FacesException;
 import javax.faces.application.ResourceDependency;
 import javax.faces.component.UIData;
 import javax.faces.component.behavior.ClientBehaviorHolder;
@@ -53,6 +54,8 @@ public class OrgChart extends UIData implements Widget, ClientBehaviorHolder {
     public static final String COMPONENT_FAMILY = "org.primefaces.extensions.component";
     private static final String DEFAULT_RENDERER = "org.primefaces.extensions.component.orgchart.OrgChartRenderer";
 
+    private static final String DATA_PROVIDER_KEY = OrgChart.class.getName() + ".dataProvider.";
+
     private static final Collection<String> EVENT_NAMES = Collections
                 .unmodifiableCollection(Arrays.asList(OrgChartClickEvent.NAME, OrgChartDropEvent.NAME));
 
@@ -65,6 +68,8 @@ public class OrgChart extends UIData implements Widget, ClientBehaviorHolder {
         pan, //
         toggleSiblingsResp, //
         depth, //
+        lazy, //
+        dataProvider, //
         exportButton, //
         exportFilename, //
         exportFileextension, //
@@ -132,20 +137,62 @@ public class OrgChart extends UIData implements Widget, ClientBehaviorHolder {
                 super.queueEvent(orgChartClickEvent);
             }
             else if (OrgChartDropEvent.NAME.equals(eventName)) {
-                final String hierarchyStr = params.get(clientId + "_hierarchy");
-
                 final String draggedNodeId = params.get(clientId + "_draggedNodeId");
 
+                final String dragZoneId = params.get(clientId + "_dragZoneId");
+
                 final String droppedZoneId = params.get(clientId + "_droppedZoneId");
 
                 final OrgChartDropEvent orgChartDropEvent = new OrgChartDropEvent(this,
-                            behaviorEvent.getBehavior(), hierarchyStr, draggedNodeId, droppedZoneId);
+                            behaviorEvent.getBehavior(), draggedNodeId, dragZoneId, droppedZoneId, getIndexParam(params, clientId));
                 orgChartDropEvent.setPhaseId(event.getPhaseId());
                 super.queueEvent(orgChartDropEvent);
             }
         }
     }
 
+    /**
+     * Gets the provider of the nodes. Without a dataProvider the nodes of the value are indexed by id. The index is kept in the view map as long as
+     * the value is the same tree, so drops and lazy loads find their nodes without walking the tree. The index itself is transient and never
+     * written to the view state.
+     *
+     * @param context the FacesContext
+     * @return the provider
+     */
+    public OrgChartDataProvider resolveDataProvider(final FacesContext context) {
+        final OrgChartDataProvider dataProvider = getDataProvider();
+        if (dataProvider != null) {
+            return dataProvider;
+        }
+
+        final Object value = getValue();
+        if (!(value instanceof OrgChartNode)) {
+            throw new FacesException("The value attribute must be OrgChartNode");
+        }
+
+        final Map<String, Object> viewMap = context.getViewRoot().getViewMap();
+        final String key = DATA_PROVIDER_KEY + getClientId(context);
+        DefaultOrgChartDataProvider defaultDataProvider = (DefaultOrgChartDataProvider) viewMap.get(key);
+        if (defaultDataProvider == null || defaultDataProvider.getRoot() != value) {
+            defaultDataProvider = new DefaultOrgChartDataProvider((OrgChartNode) value);
+            viewMap.put(key, defaultDataProvider);
+        }
+        return defaultDataProvider;
+    }
+
+    static int getIndexParam(final Map<String, String> params, final String clientId) {
+        final String index = params.get(clientId + "_index");
+        if (index == null || index.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(index);
+        }
+        catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private boolean isSelfRequest(final FacesContext context) {
         return getClientId(context)
                     .equals(context.getExternalContext().getRequestParameterMap().get(
@@ -208,6 +255,22 @@ public class OrgChart extends UIData implements Widget, ClientBehaviorHolder {
         getStateHelper().put(PropertyKeys.depth, depth);
     }
 
+    public Boolean getLazy() {
+        return (Boolean) getStateHelper().eval(PropertyKeys.lazy, false);
+    }
+
+    public void setLazy(final Boolean lazy) {
+        getStateHelper().put(PropertyKeys.lazy, lazy);
+    }
+
+    public OrgChartDataProvider getDataProvider() {
+        return (OrgChartDataProvider) getStateHelper().eval(PropertyKeys.dataProvider, null);
+    }
+
+    public void setDataProvider(final OrgChartDataProvider dataProvider) {
+        getStateHelper().put(PropertyKeys.dataProvider, dataProvider);
+    }
+
     public Boolean getExportButton() {
         return (Boolean) getStateHelper().eval(PropertyKeys.exportButton, false);
     }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.orgchart;
+
+import java.util.List;
+
+/**
+ * Supplies the nodes of a lazy <code>orgchart</code>. Only the levels up to the depth of the chart are rendered initially, the children of a deeper node are
+ * requested from the provider when the node is expanded in the browser.
+ *
+ * @author agent / last modified by $Author$
+ * @version $Revision$
+ * @since 9.0
+ */
+public interface OrgChartDataProvider {
+
+    /**
+     * Gets the node with the given id.
+     *
+     * @param id the node id
+     * @return the node or null if there is no such node
+     */
+    OrgChartNode getNode(String id);
+
+    /**
+     * Gets the children of a node.
+     *
+     * @param node the parent node
+     * @return the children, never null
+     */
+    List<OrgChartNode> getChildren(OrgChartNode node);
+
+    /**
+     * Checks whether a node has children without loading them.
+     *
+     * @param node the node
+     * @return true if the node has at least one child
+     */
+    boolean hasChildren(OrgChartNode node);
+
+}
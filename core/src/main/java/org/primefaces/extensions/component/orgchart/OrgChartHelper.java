@@ -17,6 +17,7 @@ package org.primefaces.extensions.component.orgchart;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -61,6 +62,76 @@ public class OrgChartHelper {
         return hashMap;
     }
 
+    /**
+     * Moves a node to another parent. Only the two child lists are touched and the ancestors of the new parent are walked to reject a move into the
+     * subtree of the node itself, so the cost depends on the depth of the tree and the number of siblings, not on the size of the tree.
+     *
+     * @param node the node to move
+     * @param oldParent the current parent of the node
+     * @param newParent the new parent of the node
+     * @param index the position among the children of the new parent, out of range values append the node
+     * @return true if the node was moved, false if it is not a child of the old parent or the new parent is in its subtree
+     */
+    public static boolean moveNode(final OrgChartNode node, final OrgChartNode oldParent, final OrgChartNode newParent, final int index) {
+        for (OrgChartNode ancestor = newParent; ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor == node) {
+                return false;
+            }
+        }
+
+        if (!removeChild(oldParent, node)) {
+            return false;
+        }
+
+        final List<OrgChartNode> children = newParent.getChildren();
+        if (index >= 0 && index < children.size()) {
+            children.add(index, node);
+        }
+        else {
+            newParent.addChild(node);
+        }
+        node.setParent(newParent);
+
+        return true;
+    }
+
+    /**
+     * Moves a node to another parent and keeps an id index of the tree up to date. The ids of the tree do not change by a move, so the index is only
+     * updated for the moved node and its new parent, which may have been missing from an index built before they were added to the tree.
+     *
+     * @param nodes the id index of the tree
+     * @param node the node to move
+     * @param oldParent the current parent of the node
+     * @param newParent the new parent of the node
+     * @param index the position among the children of the new parent, out of range values append the node
+     * @return true if the node was moved
+     * @see #moveNode(OrgChartNode, OrgChartNode, OrgChartNode, int)
+     */
+    public static boolean moveNode(final Map<String, OrgChartNode> nodes, final OrgChartNode node, final OrgChartNode oldParent,
+                final OrgChartNode newParent, final int index) {
+        if (!moveNode(node, oldParent, newParent, index)) {
+            return false;
+        }
+        if (node.getId() != null) {
+            nodes.put(node.getId(), node);
+        }
+        if (newParent.getId() != null) {
+            nodes.put(newParent.getId(), newParent);
+        }
+        return true;
+    }
+
+    private static boolean removeChild(final OrgChartNode parent, final OrgChartNode child) {
+        final Iterator<OrgChartNode> iterator = parent.getChildren().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == child) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static void treeTraversal(final OrgChartNode orgChartNode, final List<OrgChartNode> orgChartNodes) {
         if (orgChartNode.getChildCount() > 0) {
             for (final OrgChartNode o : orgChartNode.getChildren()) {
@@ -45,11 +45,20 @@ public class OrgChartRenderer extends CoreRenderer {
 
     private static final String JSON_CHILDREN = "children";
 
+    private static final String JSON_RELATIONSHIP = "relationship";
+
     @Override
     public void encodeEnd(final FacesContext context, final UIComponent component) throws IOException {
         final OrgChart orgChart = (OrgChart) component;
-        encodeMarkup(context, orgChart);
-        encodeScript(context, orgChart);
+
+        final String lazyNodeId = context.getExternalContext().getRequestParameterMap().get(orgChart.getClientId(context) + "_lazyNodeId");
+        if (lazyNodeId != null && orgChart.getLazy()) {
+            encodeLazyChildren(context, orgChart, lazyNodeId);
+        }
+        else {
+            encodeMarkup(context, orgChart);
+            encodeScript(context, orgChart);
+        }
     }
 
     @Override
@@ -57,10 +66,51 @@ public class OrgChartRenderer extends CoreRenderer {
 
         final OrgChart orgChart = (OrgChart) component;
 
-        decodeNodeStructure(context, orgChart);
+        decodeNodeMove(context, orgChart);
         decodeBehaviors(context, component);
     }
 
+    private static void decodeNodeMove(final FacesContext context, final OrgChart orgChart) {
+        final Map<String, String> params = context.getExternalContext().getRequestParameterMap();
+        final String clientId = orgChart.getClientId(context);
+
+        final String draggedNodeId = params.get(clientId + "_draggedNodeId");
+        final String dragZoneId = params.get(clientId + "_dragZoneId");
+        final String droppedZoneId = params.get(clientId + "_droppedZoneId");
+
+        if (draggedNodeId == null || dragZoneId == null || droppedZoneId == null) {
+            // drops without a drop behavior are synchronized by the hierarchy sent with the next click
+            if ("true".equals(params.get(clientId + "_structureChanged")) && !orgChart.getLazy()) {
+                decodeNodeStructure(context, orgChart);
+            }
+            return;
+        }
+
+        final OrgChartDataProvider dataProvider = orgChart.resolveDataProvider(context);
+        final int index = OrgChart.getIndexParam(params, clientId);
+        if (!moveNode(dataProvider, draggedNodeId, dragZoneId, droppedZoneId, index)
+                    && dataProvider instanceof DefaultOrgChartDataProvider) {
+            // the index is stale if nodes have been added or removed outside of the chart
+            ((DefaultOrgChartDataProvider) dataProvider).reindex();
+            moveNode(dataProvider, draggedNodeId, dragZoneId, droppedZoneId, index);
+        }
+    }
+
+    private static boolean moveNode(final OrgChartDataProvider dataProvider, final String draggedNodeId, final String dragZoneId,
+                final String droppedZoneId, final int index) {
+        final OrgChartNode node = dataProvider.getNode(draggedNodeId);
+        final OrgChartNode oldParent = dataProvider.getNode(dragZoneId);
+        final OrgChartNode newParent = dataProvider.getNode(droppedZoneId);
+
+        if (node == null || oldParent == null || newParent == null) {
+            return false;
+        }
+        if (dataProvider instanceof DefaultOrgChartDataProvider) {
+            return ((DefaultOrgChartDataProvider) dataProvider).moveNode(node, oldParent, newParent, index);
+        }
+        return OrgChartHelper.moveNode(node, oldParent, newParent, index);
+    }
+
     private static void decodeNodeStructure(final FacesContext context, final OrgChart orgChart) {
         final Map<String, String> params = context.getExternalContext().getRequestParameterMap();
 
@@ -102,10 +152,11 @@ public class OrgChartRenderer extends CoreRenderer {
 
             for (int i = 0; i < array.length(); i++) {
                 final JSONObject jsonObject = array.getJSONObject(i);
-                buildNodesFromJSON(orgChartNodes, jsonObject,
-                            orgChartNodes.get(jsonObject.get("id")));
+                final OrgChartNode child = orgChartNodes.get(jsonObject.get("id"));
+                buildNodesFromJSON(orgChartNodes, jsonObject, child);
 
-                parentNode.addChild(orgChartNodes.get(jsonObject.get("id")));
+                parentNode.addChild(child);
+                child.setParent(parentNode);
 
             }
         }
@@ -134,21 +185,16 @@ public class OrgChartRenderer extends CoreRenderer {
                 throws IOException {
         final WidgetBuilder wb = getWidgetBuilder(context);
 
-        final OrgChartNode orgChartNode;
-        if (orgChart.getValue() == null) {
-            throw new FacesException("The value attribute must be OrgChartNode");
+        final OrgChartNode orgChartNode = getRoot(orgChart);
+
+        final String data;
+        if (orgChart.getLazy()) {
+            data = toJSON(orgChart.resolveDataProvider(context), orgChartNode, "00", orgChart.getDepth() - 1).toString();
         }
         else {
-            if (!(orgChart.getValue() instanceof OrgChartNode)) {
-                throw new FacesException("The value attribute must be OrgChartNode");
-            }
-            else {
-                orgChartNode = (OrgChartNode) orgChart.getValue();
-            }
+            data = toJSON(orgChartNode, orgChartNode.getChildren()).toString();
         }
 
-        final String data = toJSON(orgChartNode, orgChartNode.getChildren()).toString();
-
         wb.init("ExtOrgChart", orgChart);
         wb.attr("nodeId", orgChart.getNodeId());
         wb.attr("nodeContent", orgChart.getNodeContent());
@@ -156,6 +202,7 @@ public class OrgChartRenderer extends CoreRenderer {
         wb.attr("pan", orgChart.getPan());
         wb.attr("toggleSiblingsResp", orgChart.getToggleSiblingsResp());
         wb.attr("depth", orgChart.getDepth());
+        wb.attr("lazy", orgChart.getLazy(), false);
         wb.attr("exportButton", orgChart.getExportButton());
         wb.attr("exportFilename", orgChart.getExportFilename());
         wb.attr("exportFileextension", orgChart.getExportFileextension());
@@ -174,20 +221,69 @@ public class OrgChartRenderer extends CoreRenderer {
         wb.finish();
     }
 
-    public static JSONObject toJSON(final OrgChartNode orgChartNode, final List<OrgChartNode> children) {
+    private static void encodeLazyChildren(final FacesContext context, final OrgChart orgChart, final String nodeId) throws IOException {
+        final OrgChartDataProvider dataProvider = orgChart.resolveDataProvider(context);
+        final OrgChartNode orgChartNode = dataProvider.getNode(nodeId);
 
-        final JSONObject json = new JSONObject();
+        final JSONArray children;
+        if (orgChartNode == null) {
+            children = new JSONArray();
+        }
+        else {
+            children = toJSON(dataProvider, dataProvider.getChildren(orgChartNode), 0);
+        }
 
-        if (null != orgChartNode.getId() && !orgChartNode.getId().isEmpty()) {
-            json.put("id", orgChartNode.getId());
+        context.getResponseWriter().write(children.toString());
+    }
+
+    private static OrgChartNode getRoot(final OrgChart orgChart) {
+        if (!(orgChart.getValue() instanceof OrgChartNode)) {
+            throw new FacesException("The value attribute must be OrgChartNode");
         }
+        return (OrgChartNode) orgChart.getValue();
+    }
 
-        json.put("name", orgChartNode.getName());
-        json.put("title", orgChartNode.getTitle());
-        if (null != orgChartNode.getClassName() && !orgChartNode.getClassName().isEmpty()) {
-            json.put("className", orgChartNode.getClassName());
+    /**
+     * Serializes a node of a lazy chart with the given number of levels below it. The relationship tells the widget whether the node has a parent,
+     * siblings and children, so it can offer to expand a node whose children are not loaded yet.
+     *
+     * @param dataProvider the provider of the children
+     * @param orgChartNode the node
+     * @param relationship the parent and siblings flags of the node, e.g. "10" for a node with a parent and without siblings
+     * @param depth the number of levels to serialize below the node
+     * @return the JSON of the node
+     */
+    public static JSONObject toJSON(final OrgChartDataProvider dataProvider, final OrgChartNode orgChartNode, final String relationship,
+                final int depth) {
+        final JSONObject json = toNodeJSON(orgChartNode);
+
+        if (depth > 0) {
+            final List<OrgChartNode> children = dataProvider.getChildren(orgChartNode);
+            json.put(JSON_RELATIONSHIP, relationship + (children.isEmpty() ? "0" : "1"));
+            if (!children.isEmpty()) {
+                json.put(JSON_CHILDREN, toJSON(dataProvider, children, depth - 1));
+            }
+        }
+        else {
+            json.put(JSON_RELATIONSHIP, relationship + (dataProvider.hasChildren(orgChartNode) ? "1" : "0"));
         }
 
+        return json;
+    }
+
+    private static JSONArray toJSON(final OrgChartDataProvider dataProvider, final List<OrgChartNode> children, final int depth) {
+        final String relationship = children.size() > 1 ? "11" : "10";
+        final JSONArray json = new JSONArray();
+        for (final OrgChartNode child : children) {
+            json.put(toJSON(dataProvider, child, relationship, depth));
+        }
+        return json;
+    }
+
+    public static JSONObject toJSON(final OrgChartNode orgChartNode, final List<OrgChartNode> children) {
+
+        final JSONObject json = toNodeJSON(orgChartNode);
+
         if (orgChartNode.getChildCount() > 0) {
             final List<JSONObject> jsonChildren = new ArrayList<>();
             for (int i = 0; i < orgChartNode.getChildCount(); i++) {
@@ -200,4 +296,20 @@ public class OrgChartRenderer extends CoreRenderer {
         return json;
     }
 
+    private static JSONObject toNodeJSON(final OrgChartNode orgChartNode) {
+        final JSONObject json = new JSONObject();
+
+        if (null != orgChartNode.getId() && !orgChartNode.getId().isEmpty()) {
+            json.put("id", orgChartNode.getId());
+        }
+
+        json.put("name", orgChartNode.getName());
+        json.put("title", orgChartNode.getTitle());
+        if (null != orgChartNode.getClassName() && !orgChartNode.getClassName().isEmpty()) {
+            json.put("className", orgChartNode.getClassName());
+        }
+
+        return json;
+    }
+
 }
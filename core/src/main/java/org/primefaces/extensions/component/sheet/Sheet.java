@@ -32,12 +32,12 @@ import javax.faces.event.FacesEvent;
 
 import org.primefaces.PrimeFaces;
 import org.primefaces.extensions.event.SheetEvent;
+import org.primefaces.extensions.model.sheet.LazySheetModel;
 import org.primefaces.extensions.model.sheet.SheetRowColIndex;
 import org.primefaces.extensions.model.sheet.SheetUpdate;
+import org.primefaces.extensions.model.sheet.SheetUpdateHandler;
 import org.primefaces.extensions.util.ExtLangUtils;
 import org.primefaces.extensions.util.JavascriptVarBuilder;
-import org.primefaces.model.BeanPropertyComparator;
-import org.primefaces.model.SortMeta;
 import org.primefaces.model.SortOrder;
 import org.primefaces.util.ComponentUtils;
 import org.primefaces.util.Constants;
@@ -65,11 +65,16 @@ public class Sheet extends SheetBase {
     public static final String EVENT_COLUMN_SELECT = "columnSelect";
     public static final String EVENT_ROW_SELECT = "rowSelect";
 
+    public static final String STATE_MODE_FULL = "full";
+    public static final String STATE_MODE_KEYS = "keys";
+
     public static final String COMPONENT_TYPE = "org.primefaces.extensions.component.Sheet";
 
     private static final Collection<String> EVENT_NAMES = Collections.unmodifiableCollection(Arrays.asList(EVENT_CHANGE,
                 EVENT_CELL_SELECT, EVENT_SORT, EVENT_FILTER, EVENT_COLUMN_SELECT, EVENT_ROW_SELECT));
 
+    private static final String FILTER_INDEX_KEY = Sheet.class.getName() + ".filterIndex.";
+
     /**
      * The list of UI Columns
      */
@@ -83,12 +88,12 @@ public class Sheet extends SheetBase {
     /**
      * Map of submitted values by row index and column index
      */
-    private Map<SheetRowColIndex, String> submittedValues = new HashMap<>();
+    private SheetCellMap<String> submittedValues = new SheetCellMap<>();
 
     /**
      * Map of local values by row index and column index
      */
-    private Map<SheetRowColIndex, Object> localValues = new HashMap<>();
+    private SheetCellMap<Object> localValues = new SheetCellMap<>();
 
     /**
      * The selection data
@@ -109,7 +114,7 @@ public class Sheet extends SheetBase {
      * Maps a visible, rendered column index to the actual column based on whether or not the column is rendered. Updated on encode, and used on decode. Saved
      * in the component state.
      */
-    private Map<Integer, Integer> columnMapping;
+    private int[] columnMapping;
 
     /**
      * Map by row keys for values found in list
@@ -121,6 +126,30 @@ public class Sheet extends SheetBase {
      */
     private Map<String, Integer> rowNumbers;
 
+    /**
+     * The currently loaded window of rows when the value is a {@link LazySheetModel}
+     */
+    private List<Object> lazyRows;
+
+    /**
+     * The sorted and filtered rows in the "keys" state mode, kept out of the state helper and rebuilt once per request
+     */
+    private List<Object> keysModeFilteredValue;
+
+    /**
+     * The normalized filterBy values of the indexed columns, only kept for the current request
+     */
+
+    /**
+     * The data version submitted by the client, null if not submitted
+     */
+    private Integer clientVersion;
+
+    /**
+     * The row keys the client had before a sort or filter row diff request, only kept for the current request
+     */
+    private Set<String> clientRows;
+
     @Override
     public String getFamily() {
         return SheetBase.COMPONENT_FAMILY;
@@ -261,28 +290,28 @@ public class Sheet extends SheetBase {
      * Updates a submitted value.
      */
     public void setSubmittedValue(final String rowKey, final int col, final String value) {
-        submittedValues.put(new SheetRowColIndex(rowKey, col), value);
+        submittedValues.put(rowKey, col, value);
     }
 
     /**
      * Retrieves the submitted value for the row and col.
      */
     public String getSubmittedValue(final String rowKey, final int col) {
-        return submittedValues.get(new SheetRowColIndex(rowKey, col));
+        return submittedValues.get(rowKey, col);
     }
 
     /**
      * Updates a local value.
      */
     public void setLocalValue(final String rowKey, final int col, final Object value) {
-        localValues.put(new SheetRowColIndex(rowKey, col), value);
+        localValues.put(rowKey, col, value);
     }
 
     /**
      * Retrieves the submitted value for the rowKey and col.
      */
     public Object getLocalValue(final String rowKey, final int col) {
-        return localValues.get(new SheetRowColIndex(rowKey, col));
+        return localValues.get(rowKey, col);
     }
 
     /**
@@ -301,11 +330,21 @@ public class Sheet extends SheetBase {
             context.getExternalContext().getRequestMap().remove(getVar());
         }
         else {
-            final Object value = getRowMap().get(rowKey);
+            Object value = getRowMap().get(rowKey);
+            if (value == null && isLazy()) {
+                value = getLazyModel().getRowData(rowKey);
+            }
             context.getExternalContext().getRequestMap().put(getVar(), value);
         }
     }
 
+    /**
+     * Checks whether the row var set by {@link #setRowVar(FacesContext, String)} is missing because the lazy model no longer resolves the row.
+     */
+    private boolean isRowDeleted(final FacesContext context) {
+        return isLazy() && context.getExternalContext().getRequestMap().get(getVar()) == null;
+    }
+
     protected Map<String, Object> getRowMap() {
         if (rowMap == null || rowMap.isEmpty()) {
             remapRows();
@@ -313,15 +352,28 @@ public class Sheet extends SheetBase {
         return rowMap;
     }
 
+    /**
+     * Returns true if the value of the sheet is a {@link LazySheetModel}, i.e. rows are loaded in windows on demand.
+     */
+    public boolean isLazy() {
+        return getValue() instanceof LazySheetModel;
+    }
+
+    /**
+     * The lazy model of the sheet.
+     */
+    public LazySheetModel<Object> getLazyModel() {
+        return (LazySheetModel<Object>) getValue();
+    }
+
     /**
      * Gets the object value of the row and col specified. If a local value exists, that is returned, otherwise the actual value is return.
      */
     public Object getValueForCell(final FacesContext context, final String rowKey, final int col) {
         // if we have a local value, use it
         // note: can't check for null, as null may be the submitted value
-        final SheetRowColIndex index = new SheetRowColIndex(rowKey, col);
-        if (localValues.containsKey(index)) {
-            return localValues.get(index);
+        if (localValues.containsKey(rowKey, col)) {
+            return localValues.get(rowKey, col);
         }
 
         setRowVar(context, rowKey);
@@ -336,9 +388,8 @@ public class Sheet extends SheetBase {
 
         // if we have a submitted value still, use it
         // note: can't check for null, as null may be the submitted value
-        final SheetRowColIndex index = new SheetRowColIndex(rowKey, col);
-        if (submittedValues.containsKey(index)) {
-            return submittedValues.get(index);
+        if (submittedValues.containsKey(rowKey, col)) {
+            return submittedValues.get(rowKey, col);
         }
 
         final Object value = getValueForCell(context, rowKey, col);
@@ -370,10 +421,46 @@ public class Sheet extends SheetBase {
         }
     }
 
+    /**
+     * In the "keys" state mode the filtered list is not kept in the state helper, which would save it with the component state, but rebuilt from the value
+     * and the sort and filter settings on the first access of each request.
+     */
+    @Override
+    public List getFilteredValue() {
+        if (isKeysStateMode()) {
+            if (keysModeFilteredValue == null) {
+                keysModeFilteredValue = new ArrayList<>();
+            }
+            return keysModeFilteredValue;
+        }
+        return super.getFilteredValue();
+    }
+
+    @Override
+    public void setFilteredValue(final List filteredValue) {
+        if (isKeysStateMode()) {
+            keysModeFilteredValue = filteredValue;
+        }
+        else {
+            super.setFilteredValue(filteredValue);
+        }
+    }
+
+    private boolean isKeysStateMode() {
+        return STATE_MODE_KEYS.equals(getStateMode()) && getValueExpression(PropertyKeys.filteredValue.name()) == null;
+    }
+
     /**
      * The sorted list of values.
      */
     public List<Object> getSortedValues() {
+        if (isLazy()) {
+            if (lazyRows == null) {
+                loadLazyRows(0);
+            }
+            return lazyRows;
+        }
+
         List<Object> filtered = getFilteredValue();
         if (filtered == null || filtered.isEmpty()) {
             filtered = sortAndFilter();
@@ -438,56 +525,65 @@ public class Sheet extends SheetBase {
      * Checks if string representations of column value and filter value are same.
      */
     protected boolean matchesFilter() {
-        for (final SheetColumn col : getColumns()) {
-            final String filterValue = col.getFilterValue();
-            if (LangUtils.isValueBlank(filterValue)) {
-                continue;
-            }
-
-            final Object filterBy = col.getFilterBy();
-            // if we have a filter, but no value in the row, no match
-            if (filterBy == null) {
+        for (final SheetColumnFilter filter : SheetColumnFilter.compile(getColumns())) {
+            if (!filter.matches(filter.evaluate())) {
                 return false;
             }
+        }
+        return true;
+    }
 
-            String filterMatchMode = col.getFilterMatchMode();
-            if (LangUtils.isValueBlank(filterMatchMode)) {
-                filterMatchMode = "contains";
-            }
-
-            // case-insensitive
-            final String value = filterBy.toString().toLowerCase();
-            final String filter = filterValue.toLowerCase();
-            switch (filterMatchMode) {
-                case "startsWith":
-                    if (!value.startsWith(filter)) {
-                        return false;
-                    }
-                    break;
-                case "endsWith":
-                    if (!value.endsWith(filter)) {
-                        return false;
-                    }
-                    break;
-                case "exact":
-                    if (!value.equals(filter)) {
-                        return false;
-                    }
-                    break;
-                default:
-                    // contains is default
-                    if (!value.contains(filter)) {
-                        return false;
-                    }
+    /**
+     * Evaluates the row against the compiled filters. Values of indexed columns are taken from the index, all others are evaluated for the current row var.
+     *
+     * @param filters the compiled filters
+     * @param indexed the indexed values per filter, null entries for columns without an index
+     * @param row the index of the row in the value collection
+     */
+    private boolean matchesFilter(final List<SheetColumnFilter> filters, final String[][] indexed, final int row) {
+        for (int i = 0; i < filters.size(); i++) {
+            final SheetColumnFilter filter = filters.get(i);
+            final String value = indexed[i] == null ? filter.evaluate() : indexed[i][row];
+            if (!filter.matches(value)) {
+                return false;
             }
         }
         return true;
     }
 
+    /**
+     * Gets the filter index for the values from the view map, creating a new one if the value collection has changed since the index was built.
+     */
+    private SheetFilterIndex getFilterIndex(final FacesContext context, final Collection<?> values) {
+        final Map<String, Object> viewMap = context.getViewRoot().getViewMap();
+        final String key = FILTER_INDEX_KEY + getClientId(context);
+        SheetFilterIndex filterIndex = (SheetFilterIndex) viewMap.get(key);
+        if (filterIndex == null || !filterIndex.isValidFor(values)) {
+            filterIndex = new SheetFilterIndex(values);
+            viewMap.put(key, filterIndex);
+        }
+        return filterIndex;
+    }
+
+    /**
+     * Drops the filter index of the columns with filterIndex set. The Sheet does so after it updated the model, call it after changing the rows of the
+     * value collection in other ways without replacing the collection.
+     */
+    public void resetFilterIndex() {
+        final FacesContext context = FacesContext.getCurrentInstance();
+        context.getViewRoot().getViewMap().remove(FILTER_INDEX_KEY + getClientId(context));
+    }
+
     /**
      * Sorts and filters the data
      */
     public List<Object> sortAndFilter() {
+        if (isLazy()) {
+            rowMap = new HashMap<>();
+            rowNumbers = new HashMap<>();
+            return loadLazyRows(0);
+        }
+
         List filteredList = getFilteredValue();
         if (filteredList == null) {
             filteredList = new ArrayList();
@@ -504,26 +600,39 @@ public class Sheet extends SheetBase {
         remapRows();
 
         List<SheetColumn> columns = getRenderedColumns();
-        boolean filters = false;
-        for (final SheetColumn col : columns) {
-            if (!LangUtils.isValueBlank(col.getFilterValue())) {
-                filters = true;
-                break;
-            }
-        }
+        // compile the filters once for all rows
+        final List<SheetColumnFilter> filters = SheetColumnFilter.compile(columns);
 
         final FacesContext context = FacesContext.getCurrentInstance();
         final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
         final String var = getVar();
 
-        if (filters) {
+        if (!filters.isEmpty()) {
+            // take the values of indexed columns from the filter index
+            final String[][] indexed = new String[filters.size()][];
+            boolean evaluate = false;
+            for (int i = 0; i < filters.size(); i++) {
+                final SheetColumn column = filters.get(i).getColumn();
+                if (column.isFilterIndex()) {
+                    indexed[i] = getFilterIndex(context, values).getNormalizedValues(context, this, column);
+                }
+                else {
+                    evaluate = true;
+                }
+            }
+
             // iterate and add those matching the filters
+            int row = 0;
             for (final Object obj : values) {
-                requestMap.put(var, obj);
-                if (matchesFilter()) {
+                if (evaluate) {
+                    requestMap.put(var, obj);
+                }
+                if (matchesFilter(filters, indexed, row)) {
                     filteredList.add(obj);
                 }
+                row++;
             }
+            requestMap.remove(var);
         }
         else {
             filteredList.addAll(values);
@@ -542,9 +651,16 @@ public class Sheet extends SheetBase {
             veSortBy = getValueExpression(PropertyKeys.sortBy.name());
         }
         if (veSortBy != null) {
-            SortMeta sortMeta = SortMeta.builder().caseSensitiveSort(isCaseSensitiveSort()).sortBy(veSortBy).order(convertSortOrder())
-                        .nullSortOrder(getNullSortOrder()).build();
-            filteredList.sort(new BeanPropertyComparator(var, sortMeta, Locale.ENGLISH));
+            // evaluate the sort keys once per row instead of once per comparison
+            final SheetRowSorter sorter = new SheetRowSorter(isCaseSensitiveSort(), getNullSortOrder(), isParallelSort());
+            sorter.addKey(veSortBy, convertSortOrder());
+
+            // the sheet's sortBy expression breaks ties when the user sorted by another column
+            final ValueExpression veDefaultSortBy = getValueExpression(PropertyKeys.sortBy.name());
+            if (veDefaultSortBy != null && !veDefaultSortBy.getExpressionString().equals(veSortBy.getExpressionString())) {
+                sorter.addKey(veDefaultSortBy, convertOrigSortOrder());
+            }
+            sorter.sort(context, var, filteredList);
         }
 
         // map filtered rows
@@ -569,11 +685,58 @@ public class Sheet extends SheetBase {
         requestMap.remove(var);
     }
 
+    /**
+     * Loads the window of rows starting at the given row from the lazy model, passing the current sort column and filter values. The rows of the window are
+     * added to the row maps so that updates to rows of previously loaded windows can still be resolved.
+     *
+     * @param first the index of the first row of the window
+     * @return the loaded rows
+     */
+    public List<Object> loadLazyRows(final int first) {
+        final Map<String, String> filters = new HashMap<>();
+        for (final SheetColumn col : getColumns()) {
+            final String filterValue = col.getFilterValue();
+            if (col.isRendered() && !LangUtils.isValueBlank(filterValue)) {
+                filters.put(col.getId(), filterValue);
+            }
+        }
+
+        final int sortByIdx = getSortColRenderIndex();
+        final String sortBy = sortByIdx >= 0 ? getRenderedColumns().get(sortByIdx).getId() : null;
+
+        final List<Object> window = getLazyModel().load(first, getPageSize(), sortBy, convertSortOrder(), filters);
+        lazyRows = window == null ? new ArrayList<>() : window;
+
+        if (rowMap == null) {
+            rowMap = new HashMap<>();
+        }
+        if (rowNumbers == null) {
+            rowNumbers = new HashMap<>();
+        }
+        final FacesContext context = FacesContext.getCurrentInstance();
+        final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+        final String var = getVar();
+        int row = first;
+        for (final Object value : lazyRows) {
+            requestMap.put(var, value);
+            final String key = getRowKeyValueAsString(context);
+            rowMap.put(key, value);
+            rowNumbers.put(key, Integer.valueOf(row));
+            row++;
+        }
+        requestMap.remove(var);
+        return lazyRows;
+    }
+
     /**
      * Remaps the row keys in a hash map.
      */
     protected void remapRows() {
         rowMap = new HashMap<>();
+        if (isLazy()) {
+            // rows of a lazy sheet are mapped as their windows are loaded
+            return;
+        }
         final FacesContext context = FacesContext.getCurrentInstance();
         final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
         final Collection<?> values = (Collection<?>) getValue();
@@ -624,6 +787,17 @@ public class Sheet extends SheetBase {
         return getRowKeyValueAsString(getRowKeyValue(context));
     }
 
+    /**
+     * The original sort direction of the sheet, before the user toggled it.
+     */
+    protected SortOrder convertOrigSortOrder() {
+        final String origSortOrder = (String) getStateHelper().get(PropertyKeys.origSortOrder);
+        if (origSortOrder == null) {
+            return convertSortOrder();
+        }
+        return SortOrder.valueOf(origSortOrder.toUpperCase(Locale.ENGLISH));
+    }
+
     /**
      * Convert to PF SortOrder enum since we are leveraging PF sorting code.
      */
@@ -647,23 +821,43 @@ public class Sheet extends SheetBase {
         // data type. For successful values, remove from submitted and add to
         // local values map. for failures, add a conversion message and leave in
         // the submitted state
-        final Iterator<Entry<SheetRowColIndex, String>> entries = submittedValues.entrySet().iterator();
         final boolean hadBadUpdates = !getInvalidUpdates().isEmpty();
         getInvalidUpdates().clear();
-        while (entries.hasNext()) {
-            final Entry<SheetRowColIndex, String> entry = entries.next();
-            final SheetColumn column = getColumns().get(entry.getKey().getColIndex());
-            final String newValue = entry.getValue();
-            final String rowKey = entry.getKey().getRowKey();
-            final int col = entry.getKey().getColIndex();
-            setRowVar(context, rowKey);
 
-            // attempt to convert new value from string to correct object type
-            // based on column converter. Use PF util as helper
-            final Converter<Object> converter = ComponentUtils.getConverter(context, column);
+        // a paste may submit thousands of cells, so the row var is set once per row and the
+        // converter and validators are resolved once per column
+        final List<SheetColumn> columns = getColumns();
+        final Converter<Object>[] converters = new Converter[columns.size()];
+        final Boolean[] validating = new Boolean[columns.size()];
+
+        // the keys are grouped by row
+        int rowOrdinal = -1;
+        String rowKey = null;
+        boolean rowDeleted = false;
+        for (final long key : submittedValues.keys()) {
+            if (SheetCellMap.getRowOrdinal(key) != rowOrdinal) {
+                rowOrdinal = SheetCellMap.getRowOrdinal(key);
+                rowKey = submittedValues.getRowKey(key);
+                setRowVar(context, rowKey);
+                rowDeleted = isRowDeleted(context);
+            }
+            if (rowDeleted) {
+                submittedValues.remove(key);
+                continue;
+            }
+            final int col = SheetCellMap.getColIndex(key);
+            final SheetColumn column = columns.get(col);
+            final String newValue = submittedValues.get(key);
+            if (validating[col] == null) {
+                // attempt to convert new value from string to correct object type
+                // based on column converter. Use PF util as helper
+                converters[col] = ComponentUtils.getConverter(context, column);
+                validating[col] = column.isRequired() || column.getValidators().length > 0;
+            }
 
             // assume string value if converter not found
             Object newValueObj = newValue;
+            final Converter<Object> converter = converters[col];
             if (converter != null) {
                 try {
                     newValueObj = converter.getAsObject(context, this, newValue);
@@ -691,15 +885,17 @@ public class Sheet extends SheetBase {
             setLocalValue(rowKey, col, newValueObj);
 
             // process validators on column
-            column.setValue(newValueObj);
-            try {
-                column.validate(context);
-            }
-            finally {
-                column.resetValue();
+            if (validating[col]) {
+                column.setValue(newValueObj);
+                try {
+                    column.validate(context);
+                }
+                finally {
+                    column.resetValue();
+                }
             }
 
-            entries.remove();
+            submittedValues.remove(key);
         }
         setRowVar(context, null);
 
@@ -724,38 +920,154 @@ public class Sheet extends SheetBase {
      */
     @Override
     public void updateModel(final FacesContext context) {
-        final Iterator<Entry<SheetRowColIndex, Object>> entries = localValues.entrySet().iterator();
+        // remember what the client currently shows for the touched rows so only the changes are sent back
+        final boolean cellDiff = isDiffUpdates() && context.getPartialViewContext().isPartialRequest() && isClientVersionCurrent();
+        final Map<String, String[]> renderedValues = new HashMap<>();
+        final SheetCellMap<Object> editedCells = cellDiff ? new SheetCellMap<>(localValues) : null;
+        if (cellDiff) {
+            for (final long key : editedCells.keys()) {
+                final String rowKey = editedCells.getRowKey(key);
+                if (!renderedValues.containsKey(rowKey)) {
+                    renderedValues.put(rowKey, getCellRenderValues(context, rowKey));
+                }
+            }
+        }
+
         // Keep track of the dirtied rows for ajax callbacks so we can send
         // updates on what was touched
         final HashSet<String> dirtyRows = new HashSet<>();
-        while (entries.hasNext()) {
-            final Entry<SheetRowColIndex, Object> entry = entries.next();
-
-            final Object newValue = entry.getValue();
-            final String rowKey = entry.getKey().getRowKey();
-            final int col = entry.getKey().getColIndex();
-            final SheetColumn column = getColumns().get(col);
-            setRowVar(context, rowKey);
-            final Object rowVal = rowMap.get(rowKey);
+        final SheetUpdateHandler updateHandler = getUpdateHandler();
+        final List<SheetUpdate> bulkUpdates = new ArrayList<>(updateHandler == null ? 0 : localValues.size());
+        final ELContext elContext = context.getELContext();
+        final ValueExpression[] valueExpressions = new ValueExpression[getColumns().size()];
+
+        // the keys are grouped by row
+        int rowOrdinal = -1;
+        Object rowVal = null;
+        Object rowKeyValue = null;
+        boolean rowDeleted = false;
+        for (final long key : localValues.keys()) {
+            if (SheetCellMap.getRowOrdinal(key) != rowOrdinal) {
+                rowOrdinal = SheetCellMap.getRowOrdinal(key);
+                final String rowKey = localValues.getRowKey(key);
+                setRowVar(context, rowKey);
+                rowDeleted = isRowDeleted(context);
+                if (!rowDeleted) {
+                    rowVal = context.getExternalContext().getRequestMap().get(getVar());
+                    rowKeyValue = getRowKeyValue(context);
+                    dirtyRows.add(rowKey);
+                }
+            }
+            if (rowDeleted) {
+                localValues.remove(key);
+                continue;
+            }
+            final int col = SheetCellMap.getColIndex(key);
+            if (valueExpressions[col] == null) {
+                valueExpressions[col] = getColumns().get(col).getValueExpression(PropertyKeys.value.name());
+            }
 
-            final ValueExpression ve = column.getValueExpression(PropertyKeys.value.name());
-            final ELContext elContext = context.getELContext();
+            final ValueExpression ve = valueExpressions[col];
+            final Object newValue = localValues.remove(key);
             final Object oldValue = ve.getValue(elContext);
-            ve.setValue(elContext, newValue);
-            entries.remove();
-            appendUpdateEvent(getRowKeyValue(context), col, rowVal, oldValue, newValue);
-            dirtyRows.add(rowKey);
+            if (updateHandler == null) {
+                ve.setValue(elContext, newValue);
+                appendUpdateEvent(rowKeyValue, col, rowVal, oldValue, newValue);
+            }
+            else {
+                bulkUpdates.add(new SheetUpdate(rowKeyValue, col, rowVal, oldValue, newValue));
+            }
         }
         setLocalValueSet(false);
         setRowVar(context, null);
 
+        // hand all updates to the model at once
+        if (updateHandler != null && !bulkUpdates.isEmpty()) {
+            updateHandler.applyUpdates(bulkUpdates);
+            updates.addAll(bulkUpdates);
+        }
+
+        // updated rows may no longer match the indexed filter values
+        if (!dirtyRows.isEmpty()) {
+            resetFilterIndex();
+        }
+
         if (context.getPartialViewContext().isPartialRequest()) {
-            renderRowUpdateScript(context, dirtyRows);
+            if (cellDiff) {
+                renderCellUpdateScript(context, dirtyRows, renderedValues, editedCells);
+            }
+            else {
+                renderRowUpdateScript(context, dirtyRows);
+            }
+        }
+    }
+
+    /**
+     * Gets the render values of all rendered cells of a row.
+     *
+     * @param context the FacesContext
+     * @param rowKey the row key
+     * @return the render values indexed by the real column index
+     */
+    protected String[] getCellRenderValues(final FacesContext context, final String rowKey) {
+        final String[] values = new String[getColumns().size()];
+        for (int col = 0; col < values.length; col++) {
+            if (getColumns().get(col).isRendered()) {
+                values[col] = getRenderValueForCell(context, rowKey, col);
+            }
+        }
+        setRowVar(context, null);
+        return values;
+    }
+
+    /**
+     * Whether the data version submitted by the client matches the version last sent to it, i.e. the client can apply a diff.
+     */
+    public boolean isClientVersionCurrent() {
+        return clientVersion != null && clientVersion == getDataVersion();
+    }
+
+    /**
+     * Updates the data version submitted by the client.
+     *
+     * @param clientVersion the client version
+     */
+    public void setClientVersion(final Integer clientVersion) {
+        this.clientVersion = clientVersion;
+    }
+
+    /**
+     * Whether the current request is a sort or filter request of this sheet which is answered with a row diff instead of re-rendering the sheet.
+     *
+     * @param context the FacesContext
+     * @return true if a row diff is rendered
+     */
+    public boolean isRowDiffRequest(final FacesContext context) {
+        if (!isDiffUpdates() || isLazy() || !context.getPartialViewContext().isPartialRequest()) {
+            return false;
         }
+        final Map<String, String> params = context.getExternalContext().getRequestParameterMap();
+        if (!getClientId(context).equals(params.get(Constants.RequestParams.PARTIAL_SOURCE_PARAM))) {
+            return false;
+        }
+        final String behaviorEvent = params.get(Constants.RequestParams.PARTIAL_BEHAVIOR_EVENT_PARAM);
+        return "sort".equals(behaviorEvent) || "filter".equals(behaviorEvent);
     }
 
     /**
-     * Saves the state of the submitted and local values and the bad updates.
+     * Remembers the row keys the client has, before the request changes the sort or filter. If the client version is not current, the client is treated as
+     * having no rows.
+     */
+    public void saveClientRows() {
+        clientRows = new HashSet<>();
+        if (isClientVersionCurrent() && rowNumbers != null) {
+            clientRows.addAll(rowNumbers.keySet());
+        }
+    }
+
+    /**
+     * Saves the state of the submitted and local values and the bad updates. In the "keys" state mode the sorted rows and the row map are not saved, only the
+     * row keys with their row numbers. The rows are rebuilt from the value on demand.
      */
     @Override
     public Object saveState(final FacesContext context) {
@@ -765,12 +1077,49 @@ public class Sheet extends SheetBase {
         values[2] = localValues;
         values[3] = invalidUpdates;
         values[4] = columnMapping;
-        values[5] = getFilteredValue();
-        values[6] = rowMap;
-        values[7] = rowNumbers;
+        if (STATE_MODE_KEYS.equals(getStateMode())) {
+            values[7] = saveRowNumbers();
+        }
+        else {
+            values[5] = getFilteredValue();
+            values[6] = rowMap;
+            values[7] = rowNumbers;
+        }
         return values;
     }
 
+    /**
+     * Saves the row numbers as a pair of arrays of row keys and row numbers.
+     */
+    private Object saveRowNumbers() {
+        if (rowNumbers == null) {
+            return null;
+        }
+
+        final String[] keys = new String[rowNumbers.size()];
+        final int[] rows = new int[rowNumbers.size()];
+        int i = 0;
+        for (final Entry<String, Integer> entry : rowNumbers.entrySet()) {
+            keys[i] = entry.getKey();
+            rows[i] = entry.getValue();
+            i++;
+        }
+        return new Object[] {keys, rows};
+    }
+
+    /**
+     * Restores the row numbers saved by {@link #saveRowNumbers()}.
+     */
+    private Map<String, Integer> restoreRowNumbers(final Object[] state) {
+        final String[] keys = (String[]) state[0];
+        final int[] rows = (int[]) state[1];
+        final Map<String, Integer> result = new HashMap<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            result.put(keys[i], Integer.valueOf(rows[i]));
+        }
+        return result;
+    }
+
     /**
      * Restores the state for the submitted, local and bad values.
      */
@@ -794,14 +1143,14 @@ public class Sheet extends SheetBase {
             submittedValues.clear();
         }
         else {
-            submittedValues = (Map<SheetRowColIndex, String>) restoredSubmittedValues;
+            submittedValues = (SheetCellMap<String>) restoredSubmittedValues;
         }
 
         if (restoredLocalValues == null) {
             localValues.clear();
         }
         else {
-            localValues = (Map<SheetRowColIndex, Object>) restoredLocalValues;
+            localValues = (SheetCellMap<Object>) restoredLocalValues;
         }
 
         if (restoredInvalidUpdates == null) {
@@ -815,7 +1164,7 @@ public class Sheet extends SheetBase {
             columnMapping = null;
         }
         else {
-            columnMapping = (Map<Integer, Integer>) restoredColMappings;
+            columnMapping = (int[]) restoredColMappings;
         }
 
         if (restoredSortedList == null) {
@@ -835,6 +1184,9 @@ public class Sheet extends SheetBase {
         if (restoredRowNumbers == null) {
             rowNumbers = null;
         }
+        else if (restoredRowNumbers instanceof Object[]) {
+            rowNumbers = restoreRowNumbers((Object[]) restoredRowNumbers);
+        }
         else {
             rowNumbers = (Map<String, Integer>) restoredRowNumbers;
         }
@@ -858,8 +1210,9 @@ public class Sheet extends SheetBase {
         this.selection = selection;
     }
 
-    /*
-     * (non-Javadoc)
+    /**
+     * Gets a copy of the submitted values as a Map keyed by {@link SheetRowColIndex}.
+     *
      * @see javax.faces.component.EditableValueHolder#getSubmittedValue()
      */
     @Override
@@ -868,7 +1221,7 @@ public class Sheet extends SheetBase {
             return null;
         }
         else {
-            return submittedValues;
+            return submittedValues.toMap();
         }
     }
 
@@ -877,12 +1230,13 @@ public class Sheet extends SheetBase {
      * @see javax.faces.component.EditableValueHolder#setSubmittedValue(java.lang .Object)
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void setSubmittedValue(final Object submittedValue) {
         if (submittedValue == null) {
             submittedValues.clear();
         }
         else {
-            submittedValues = (Map<SheetRowColIndex, String>) submittedValue;
+            submittedValues = SheetCellMap.of((Map<SheetRowColIndex, String>) submittedValue);
         }
 
     }
@@ -919,11 +1273,10 @@ public class Sheet extends SheetBase {
             return renderCol;
         }
         else {
-            final Integer result = columnMapping.get(renderCol);
-            if (result == null) {
+            if (renderCol < 0 || renderCol >= columnMapping.length) {
                 throw new IllegalArgumentException("Invalid index " + renderCol);
             }
-            return result;
+            return columnMapping[renderCol];
         }
     }
 
@@ -935,9 +1288,9 @@ public class Sheet extends SheetBase {
             return realIdx;
         }
 
-        for (final Entry<Integer, Integer> entry : columnMapping.entrySet()) {
-            if (entry.getValue().equals(realIdx)) {
-                return entry.getKey();
+        for (int renderCol = 0; renderCol < columnMapping.length; renderCol++) {
+            if (columnMapping[renderCol] == realIdx) {
+                return renderCol;
             }
         }
 
@@ -948,22 +1301,26 @@ public class Sheet extends SheetBase {
      * Updates the column mappings based on the rendered attribute
      */
     public void updateColumnMappings() {
-        columnMapping = new HashMap<>();
+        final int[] mapping = new int[getColumns().size()];
         int realIdx = 0;
         int renderCol = 0;
         for (final SheetColumn column : getColumns()) {
             if (column.isRendered()) {
-                columnMapping.put(renderCol, realIdx);
+                mapping[renderCol] = realIdx;
                 renderCol++;
             }
             realIdx++;
         }
+        columnMapping = Arrays.copyOf(mapping, renderCol);
     }
 
     /**
      * The number of rows in the value list.
      */
     public int getRowCount() {
+        if (isLazy()) {
+            return getLazyModel().getRowCount();
+        }
         return getSortedValues().size();
     }
 
@@ -1026,8 +1383,13 @@ public class Sheet extends SheetBase {
         final StringBuilder eval = new StringBuilder();
 
         for (final String rowKey : dirtyRows) {
+            final Integer rowNumber = rowNumbers.get(rowKey);
+            if (rowNumber == null) {
+                // lazy row resolved through the model only, it is not rendered on the client
+                continue;
+            }
+            final int rowIndex = rowNumber;
             setRowVar(context, rowKey);
-            final int rowIndex = rowNumbers.get(rowKey);
             // data is array of array of data
             final JavascriptVarBuilder jsRow = new JavascriptVarBuilder(null, false);
             final JavascriptVarBuilder jsStyle = new JavascriptVarBuilder(null, true);
@@ -1067,10 +1429,163 @@ public class Sheet extends SheetBase {
             eval.append(jsReadOnly.closeVar().toString());
             eval.append(");");
         }
+        if (isDiffUpdates()) {
+            // whole rows have been sent, the client is in sync again
+            eval.append("PF('").append(jsVar).append("')").append(".setVersion(").append(getDataVersion()).append(");");
+        }
         eval.append("PF('").append(jsVar).append("')").append(".redraw();");
         PrimeFaces.current().executeScript(eval.toString());
     }
 
+    /**
+     * Adds eval scripts to the ajax response to update only the cells changed by the most recent successful update request. A cell is sent if it was edited
+     * by the user or if its render value no longer equals the value rendered before the update. Styles and read only flags are sent for all
+     * cells of the dirty rows as they may depend on any value of the row.
+     *
+     * @param context the FacesContext
+     * @param dirtyRows the set of dirty rows
+     * @param renderedValues the cell render values of the dirty rows before the update
+     * @param editedCells the cells edited by the user
+     */
+    protected void renderCellUpdateScript(final FacesContext context, final Set<String> dirtyRows, final Map<String, String[]> renderedValues,
+                final SheetCellMap<Object> editedCells) {
+        final String jsVar = resolveWidgetVar();
+        final StringBuilder eval = new StringBuilder();
+
+        for (final String rowKey : dirtyRows) {
+            final Integer rowNumber = rowNumbers.get(rowKey);
+            if (rowNumber == null) {
+                // lazy row resolved through the model only, it is not rendered on the client
+                continue;
+            }
+            final int rowIndex = rowNumber;
+            setRowVar(context, rowKey);
+            final String[] rendered = renderedValues.get(rowKey);
+            final JavascriptVarBuilder jsCells = new JavascriptVarBuilder(null, true);
+            final JavascriptVarBuilder jsStyle = new JavascriptVarBuilder(null, true);
+            final JavascriptVarBuilder jsReadOnly = new JavascriptVarBuilder(null, true);
+            int renderCol = 0;
+            for (int col = 0; col < getColumns().size(); col++) {
+                final SheetColumn column = getColumns().get(col);
+                if (!column.isRendered()) {
+                    continue;
+                }
+
+                // changed data value
+                final String value = getRenderValueForCell(context, rowKey, col);
+                if (SheetDiff.isCellChanged(rendered, col, value) || editedCells.containsKey(rowKey, col)) {
+                    jsCells.appendProperty(Integer.toString(renderCol), value, true);
+                }
+
+                // custom style
+                final String styleClass = column.getStyleClass();
+                if (styleClass != null) {
+                    jsStyle.appendRowColProperty(rowIndex, renderCol, styleClass, true);
+                }
+
+                // read only per cell
+                final boolean readOnly = column.isReadonlyCell();
+                if (readOnly) {
+                    jsReadOnly.appendRowColProperty(rowIndex, renderCol, "true", true);
+                }
+                renderCol++;
+            }
+            eval.append("PF('").append(jsVar).append("')");
+            eval.append(".updateCells(");
+            eval.append(rowIndex);
+            eval.append(",");
+            eval.append(jsCells.closeVar().toString());
+            eval.append(",");
+            eval.append(jsStyle.closeVar().toString());
+            eval.append(",");
+            eval.append(jsReadOnly.closeVar().toString());
+            eval.append(");");
+        }
+        setRowVar(context, null);
+
+        final int version = getDataVersion() + 1;
+        setDataVersion(version);
+        eval.append("PF('").append(jsVar).append("')").append(".setVersion(").append(version).append(");");
+        eval.append("PF('").append(jsVar).append("')").append(".redraw();");
+        PrimeFaces.current().executeScript(eval.toString());
+    }
+
+    /**
+     * Adds an eval script to the ajax response which applies a sort or filter change to the sheet without re-rendering it. The script contains the new order
+     * of the row keys and the data of the rows the client does not have yet. Rows whose key is missing from the new order are removed by the client. If the
+     * client rows were not saved during decode or the client version is not current, all rows are sent.
+     *
+     * @param context the FacesContext
+     */
+    public void renderRowDiffScript(final FacesContext context) {
+        final List<Object> values = sortAndFilter();
+        final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+        final String var = getVar();
+        final List<String> rowKeys = new ArrayList<>(values.size());
+        final JavascriptVarBuilder jsRowKeys = new JavascriptVarBuilder(null, false);
+        for (final Object value : values) {
+            requestMap.put(var, value);
+            final String rowKey = getRowKeyValueAsString(context);
+            rowKeys.add(rowKey);
+            jsRowKeys.appendArrayValue(rowKey, true);
+        }
+
+        final boolean isCustomHeader = isShowRowHeaders() && getRowHeaderValueExpression() != null;
+        final JavascriptVarBuilder jsInserted = new JavascriptVarBuilder(null, false);
+        for (final int rowIndex : SheetDiff.getInsertedRows(rowKeys, clientRows == null ? Collections.<String> emptySet() : clientRows)) {
+            final Object value = values.get(rowIndex);
+            final String rowKey = rowKeys.get(rowIndex);
+            requestMap.put(var, value);
+            // inserted row: [index, data, rowStyle, styles, readOnly, header]
+            final JavascriptVarBuilder jsRow = new JavascriptVarBuilder(null, false);
+            final JavascriptVarBuilder jsData = new JavascriptVarBuilder(null, false);
+            final JavascriptVarBuilder jsStyle = new JavascriptVarBuilder(null, true);
+            final JavascriptVarBuilder jsReadOnly = new JavascriptVarBuilder(null, true);
+            int renderCol = 0;
+            for (int col = 0; col < getColumns().size(); col++) {
+                final SheetColumn column = getColumns().get(col);
+                if (!column.isRendered()) {
+                    continue;
+                }
+                jsData.appendArrayValue(getRenderValueForCell(context, rowKey, col), true);
+                final String styleClass = column.getStyleClass();
+                if (styleClass != null) {
+                    jsStyle.appendProperty(Integer.toString(renderCol), styleClass, true);
+                }
+                if (column.isReadonlyCell()) {
+                    jsReadOnly.appendProperty(Integer.toString(renderCol), "true", true);
+                }
+                renderCol++;
+            }
+            // getRenderValueForCell moves the row var to the row map entry, restore it for the row style
+            requestMap.put(var, value);
+            final String rowStyleClass = getRowStyleClass();
+            jsRow.appendArrayValue(Integer.toString(rowIndex), false);
+            jsRow.appendArrayValue(jsData.closeVar().toString(), false);
+            jsRow.appendArrayValue(rowStyleClass == null ? "null" : rowStyleClass, rowStyleClass != null);
+            jsRow.appendArrayValue(jsStyle.closeVar().toString(), false);
+            jsRow.appendArrayValue(jsReadOnly.closeVar().toString(), false);
+            jsRow.appendArrayValue(isCustomHeader ? getRowHeaderValueAsString(context) : null, true);
+            jsInserted.appendArrayValue(jsRow.closeVar().toString(), false);
+        }
+        requestMap.remove(var);
+        clientRows = null;
+
+        final int version = getDataVersion() + 1;
+        setDataVersion(version);
+        final String jsVar = resolveWidgetVar();
+        final StringBuilder eval = new StringBuilder();
+        eval.append("PF('").append(jsVar).append("')");
+        eval.append(".applyRowDiff(");
+        eval.append(version);
+        eval.append(",");
+        eval.append(jsRowKeys.closeVar().toString());
+        eval.append(",");
+        eval.append(jsInserted.closeVar().toString());
+        eval.append(");");
+        PrimeFaces.current().executeScript(eval.toString());
+    }
+
     /**
      * Adds eval scripts to update the bad data array in the sheet to render validation failures produced by the most recent ajax update attempt.
      */
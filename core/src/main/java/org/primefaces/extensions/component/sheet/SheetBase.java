@@ -25,6 +25,7 @@ import javax.faces.component.behavior.ClientBehaviorHolder;
 import javax.faces.context.FacesContext;
 
 import org.primefaces.component.api.Widget;
+import org.primefaces.extensions.model.sheet.SheetUpdateHandler;
 import org.primefaces.model.SortOrder;
 
 /**
@@ -214,6 +215,11 @@ abstract class SheetBase extends UIInput implements ClientBehaviorHolder, Widget
          */
         caseSensitiveSort,
 
+        /**
+         * Sort large lists on the fork-join pool, false by default.
+         */
+        parallelSort,
+
         /**
          * The ID of the current column to be used for sorting. This is used only internally and not exposed to the consumer of the sheet component.
          */
@@ -282,7 +288,32 @@ abstract class SheetBase extends UIInput implements ClientBehaviorHolder, Widget
         /**
          * Name of javascript function to extend the options of the underlying Handsontable plugin.
          */
-        extender
+        extender,
+
+        /**
+         * The number of rows loaded per window when the value is a lazy model
+         */
+        pageSize,
+
+        /**
+         * What is kept in the view state between requests: "full" keeps the sorted rows, "keys" only the row keys
+         */
+        stateMode,
+
+        /**
+         * Flag indicating whether Ajax updates only send the changed cells and rows instead of re-rendering rows or the whole sheet
+         */
+        diffUpdates,
+
+        /**
+         * Handler applying all validated cell updates of a request at once instead of per cell value expression
+         */
+        updateHandler,
+
+        /**
+         * The version of the data last sent to the client. This is used only internally to detect whether a client can apply a diff.
+         */
+        dataVersion
     }
 
     /**
@@ -491,6 +522,60 @@ abstract class SheetBase extends UIInput implements ClientBehaviorHolder, Widget
         getStateHelper().put(PropertyKeys.extender, extender);
     }
 
+    public Integer getPageSize() {
+        return (Integer) getStateHelper().eval(PropertyKeys.pageSize, Integer.valueOf(100));
+    }
+
+    public void setPageSize(final Integer value) {
+        getStateHelper().put(PropertyKeys.pageSize, value);
+    }
+
+    public String getStateMode() {
+        return (String) getStateHelper().eval(PropertyKeys.stateMode, "full");
+    }
+
+    public void setStateMode(final String value) {
+        getStateHelper().put(PropertyKeys.stateMode, value);
+    }
+
+    public boolean isDiffUpdates() {
+        return Boolean.valueOf(getStateHelper().eval(PropertyKeys.diffUpdates, Boolean.FALSE).toString());
+    }
+
+    public void setDiffUpdates(final boolean value) {
+        getStateHelper().put(PropertyKeys.diffUpdates, value);
+    }
+
+    public SheetUpdateHandler getUpdateHandler() {
+        return (SheetUpdateHandler) getStateHelper().eval(PropertyKeys.updateHandler, null);
+    }
+
+    public void setUpdateHandler(final SheetUpdateHandler value) {
+        getStateHelper().put(PropertyKeys.updateHandler, value);
+    }
+
+    /**
+     * The version of the data last sent to the client.
+     *
+     * @return the data version
+     */
+    public int getDataVersion() {
+        final Object result = getStateHelper().get(PropertyKeys.dataVersion);
+        if (result == null) {
+            return 0;
+        }
+        return (Integer) result;
+    }
+
+    /**
+     * Updates the version of the data last sent to the client.
+     *
+     * @param version the data version
+     */
+    public void setDataVersion(final int version) {
+        getStateHelper().put(PropertyKeys.dataVersion, version);
+    }
+
     public void setCaseSensitiveSort(final boolean value) {
         getStateHelper().put(PropertyKeys.caseSensitiveSort, value);
     }
@@ -499,6 +584,14 @@ abstract class SheetBase extends UIInput implements ClientBehaviorHolder, Widget
         return Boolean.valueOf(getStateHelper().eval(PropertyKeys.caseSensitiveSort, Boolean.FALSE).toString());
     }
 
+    public void setParallelSort(final boolean value) {
+        getStateHelper().put(PropertyKeys.parallelSort, value);
+    }
+
+    public boolean isParallelSort() {
+        return Boolean.valueOf(getStateHelper().eval(PropertyKeys.parallelSort, Boolean.FALSE).toString());
+    }
+
     public Integer getNullSortOrder() {
         return (Integer) getStateHelper().eval(PropertyKeys.nullSortOrder, Integer.valueOf(1));
     }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.primefaces.extensions.model.sheet.SheetRowColIndex;
+
+/**
+ * Compact map of cell values keyed by row key and column index. Each row key is assigned an ordinal once, the ordinal and the column index are packed into a
+ * long key which is stored in an open addressing table with linear probing. Compared to a HashMap keyed by {@code SheetRowColIndex} no key object is
+ * allocated per cell and row key strings are hashed once per row instead of once per lookup.
+ *
+ * @param <V> the type of the cell values
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class SheetCellMap<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long EMPTY = -1L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final List<String> rowKeys = new ArrayList<>();
+
+    private final Map<String, Integer> rowOrdinals = new HashMap<>();
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    SheetCellMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a copy of the map.
+     *
+     * @param other the map to copy
+     */
+    SheetCellMap(final SheetCellMap<? extends V> other) {
+        rowKeys.addAll(other.rowKeys);
+        rowOrdinals.putAll(other.rowOrdinals);
+        keys = other.keys.clone();
+        values = other.values.clone();
+        size = other.size;
+    }
+
+    /**
+     * Creates a map with the cells of a map keyed by {@link SheetRowColIndex}.
+     *
+     * @param other the map to copy
+     * @param <V> the type of the cell values
+     * @return the new map
+     */
+    static <V> SheetCellMap<V> of(final Map<SheetRowColIndex, ? extends V> other) {
+        final SheetCellMap<V> result = new SheetCellMap<>();
+        for (final Map.Entry<SheetRowColIndex, ? extends V> entry : other.entrySet()) {
+            result.put(entry.getKey().getRowKey(), entry.getKey().getColIndex(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Copies the cells to a map keyed by {@link SheetRowColIndex}.
+     *
+     * @return the new map
+     */
+    Map<SheetRowColIndex, V> toMap() {
+        final Map<SheetRowColIndex, V> result = new HashMap<>(size * 2);
+        for (final long key : keys()) {
+            result.put(new SheetRowColIndex(getRowKey(key), getColIndex(key)), get(key));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the column index of a packed key.
+     *
+     * @param key the packed key
+     * @return the column index
+     */
+    static int getColIndex(final long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets the row ordinal of a packed key. Keys of the same row have the same ordinal.
+     *
+     * @param key the packed key
+     * @return the row ordinal
+     */
+    static int getRowOrdinal(final long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Gets the row key of a packed key.
+     *
+     * @param key the packed key
+     * @return the row key
+     */
+    String getRowKey(final long key) {
+        return rowKeys.get(getRowOrdinal(key));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean containsKey(final String rowKey, final int col) {
+        final long key = toKey(rowKey, col, false);
+        return key != EMPTY && indexOf(key) >= 0;
+    }
+
+    V get(final String rowKey, final int col) {
+        final long key = toKey(rowKey, col, false);
+        return key == EMPTY ? null : get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final long key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(final String rowKey, final int col, final V value) {
+        final long key = toKey(rowKey, col, true);
+        int index = slot(key);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                final V old = (V) values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    V remove(final String rowKey, final int col) {
+        final long key = toKey(rowKey, col, false);
+        return key == EMPTY ? null : remove(key);
+    }
+
+    /**
+     * Removes a cell. Removing the last cell releases all row keys, so keys of this map must not be used afterwards.
+     *
+     * @param key the packed key
+     * @return the removed value or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    V remove(final long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final V old = (V) values[index];
+        size--;
+        if (size == 0) {
+            // release the row keys, the table is empty again
+            clear();
+            return old;
+        }
+
+        // shift back the following entries of the probe sequence so lookups do not stop at the gap
+        final int mask = keys.length - 1;
+        int next = index;
+        while (true) {
+            keys[index] = EMPTY;
+            values[index] = null;
+            int home;
+            do {
+                next = (next + 1) & mask;
+                if (keys[next] == EMPTY) {
+                    return old;
+                }
+                home = slot(keys[next]);
+            }
+            while (index <= next ? index < home && home <= next : index < home || home <= next);
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+        }
+    }
+
+    void clear() {
+        rowKeys.clear();
+        rowOrdinals.clear();
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Gets the packed keys of all cells, sorted so that the cells of a row are adjacent and rows are in the order they were first added.
+     *
+     * @return a copy of the keys, the map may be modified while iterating it
+     */
+    long[] keys() {
+        final long[] result = new long[size];
+        int i = 0;
+        for (final long key : keys) {
+            if (key != EMPTY) {
+                result[i++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private long toKey(final String rowKey, final int col, final boolean create) {
+        Integer ordinal = rowOrdinals.get(rowKey);
+        if (ordinal == null) {
+            if (!create) {
+                return EMPTY;
+            }
+            ordinal = rowKeys.size();
+            rowKeys.add(rowKey);
+            rowOrdinals.put(rowKey, ordinal);
+        }
+        return ((long) ordinal << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private int indexOf(final long key) {
+        int index = slot(key);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = slot(oldKeys[i]);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & (keys.length - 1);
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -159,6 +159,10 @@ public class SheetColumn extends UIInput implements ClientBehaviorHolder {
          * The submitted filtered value
          */
         filterValue,
+        /**
+         * When set to true, the lower cased filterBy values are evaluated once and cached until the sheet value changes.
+         */
+        filterIndex,
         /**
          * Controls the visibilty of the column, default is true.
          */
@@ -498,6 +502,24 @@ public class SheetColumn extends UIInput implements ClientBehaviorHolder {
         getStateHelper().put(PropertyKeys.filterMatchMode, filterMatchMode);
     }
 
+    /**
+     * Whether the lower cased filterBy values of this column are cached between filter requests.
+     *
+     * @return
+     */
+    public boolean isFilterIndex() {
+        return Boolean.valueOf(getStateHelper().eval(PropertyKeys.filterIndex, Boolean.FALSE).toString());
+    }
+
+    /**
+     * Update the filter index flag for this column
+     *
+     * @param value
+     */
+    public void setFilterIndex(final boolean value) {
+        getStateHelper().put(PropertyKeys.filterIndex, value);
+    }
+
     /**
      * The filterOptions expression
      *
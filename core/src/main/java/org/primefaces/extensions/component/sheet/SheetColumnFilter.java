@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.primefaces.util.LangUtils;
+
+/**
+ * A column filter compiled once per filter request. The filter value is lower cased and the match mode resolved up front, so that matching a row only
+ * compares strings.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class SheetColumnFilter {
+
+    private enum MatchMode {
+        STARTS_WITH,
+        ENDS_WITH,
+        EXACT,
+        CONTAINS
+    }
+
+    private final SheetColumn column;
+
+    private final MatchMode matchMode;
+
+    private final String filter;
+
+    private SheetColumnFilter(final SheetColumn column, final String filterValue) {
+        this.column = column;
+        filter = filterValue.toLowerCase();
+
+        final String filterMatchMode = column.getFilterMatchMode();
+        if (LangUtils.isValueBlank(filterMatchMode)) {
+            matchMode = MatchMode.CONTAINS;
+        }
+        else {
+            switch (filterMatchMode) {
+                case "startsWith":
+                    matchMode = MatchMode.STARTS_WITH;
+                    break;
+                case "endsWith":
+                    matchMode = MatchMode.ENDS_WITH;
+                    break;
+                case "exact":
+                    matchMode = MatchMode.EXACT;
+                    break;
+                default:
+                    // contains is default
+                    matchMode = MatchMode.CONTAINS;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Compiles the filters of all columns having a filter value.
+     *
+     * @param columns the columns to compile the filters for
+     * @return the compiled filters, empty if no column is filtered
+     */
+    static List<SheetColumnFilter> compile(final List<SheetColumn> columns) {
+        final List<SheetColumnFilter> filters = new ArrayList<>();
+        for (final SheetColumn column : columns) {
+            final String filterValue = column.getFilterValue();
+            if (!LangUtils.isValueBlank(filterValue)) {
+                filters.add(new SheetColumnFilter(column, filterValue));
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Normalizes a filterBy value for case-insensitive matching.
+     *
+     * @param filterBy the evaluated filterBy value
+     * @return the lower cased value or null if the value is null
+     */
+    static String normalize(final Object filterBy) {
+        return filterBy == null ? null : filterBy.toString().toLowerCase();
+    }
+
+    /**
+     * Evaluates the filterBy expression of the column for the current row var.
+     *
+     * @return the normalized value of the current row
+     */
+    String evaluate() {
+        return normalize(column.getFilterBy());
+    }
+
+    /**
+     * Matches a normalized row value against the filter.
+     *
+     * @param value the normalized value
+     * @return true if the value matches, false if not or if the value is null
+     */
+    boolean matches(final String value) {
+        // if we have a filter, but no value in the row, no match
+        if (value == null) {
+            return false;
+        }
+
+        switch (matchMode) {
+            case STARTS_WITH:
+                return value.startsWith(filter);
+            case ENDS_WITH:
+                return value.endsWith(filter);
+            case EXACT:
+                return value.equals(filter);
+            default:
+                return value.contains(filter);
+        }
+    }
+
+    SheetColumn getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Computes the cell and row diffs sent to the client when the sheet uses diff updates.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+final class SheetDiff {
+
+    private SheetDiff() {
+        // utility class
+    }
+
+    /**
+     * Whether a cell no longer matches the value rendered before the update.
+     *
+     * @param renderedValues the render values of the row before the update, null if unknown
+     * @param col the real column index
+     * @param value the current render value
+     * @return true if the cell must be sent to the client
+     */
+    static boolean isCellChanged(final String[] renderedValues, final int col, final String value) {
+        return renderedValues == null || !Objects.equals(renderedValues[col], value);
+    }
+
+    /**
+     * Gets the indexes of the rows of the new order the client does not have yet.
+     *
+     * @param rowKeys the row keys in the new order
+     * @param clientRows the row keys the client has
+     * @return the indexes into rowKeys of the rows to send
+     */
+    static List<Integer> getInsertedRows(final List<String> rowKeys, final Set<String> clientRows) {
+        final List<Integer> inserted = new ArrayList<>();
+        for (int i = 0; i < rowKeys.size(); i++) {
+            if (!clientRows.contains(rowKeys.get(i))) {
+                inserted.add(i);
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.FacesContext;
+
+/**
+ * Caches the normalized filterBy values of the indexed columns of a Sheet in the order of the value collection. The index is kept in the view map across
+ * requests, so each indexed filterBy is evaluated once per row until the value collection is replaced or changes its size, the Sheet updates the model or
+ * {@link Sheet#resetFilterIndex()} is called. The cached values are transient, a serialized view rebuilds the index on first use.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class SheetFilterIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Collection<?> values;
+
+    private final int size;
+
+    private final transient Map<String, String[]> columnValues = new HashMap<>();
+
+    SheetFilterIndex(final Collection<?> values) {
+        this.values = values;
+        size = values.size();
+    }
+
+    /**
+     * Checks whether the index has been built for the given values.
+     *
+     * @param values the current value collection of the sheet
+     * @return true if the index can be used for the values
+     */
+    boolean isValidFor(final Collection<?> values) {
+        return this.values != null && this.values == values && size == values.size();
+    }
+
+    /**
+     * Gets the normalized filterBy values of the column, evaluating them once for all rows if not yet indexed.
+     *
+     * @param context the FacesContext
+     * @param sheet the Sheet
+     * @param column the column
+     * @return the normalized values in the order of the value collection
+     */
+    String[] getNormalizedValues(final FacesContext context, final Sheet sheet, final SheetColumn column) {
+        String[] result = columnValues.get(column.getId());
+        if (result == null) {
+            final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+            final String var = sheet.getVar();
+            result = new String[size];
+            int row = 0;
+            for (final Object obj : values) {
+                requestMap.put(var, obj);
+                result[row] = SheetColumnFilter.normalize(column.getFilterBy());
+                row++;
+            }
+            requestMap.remove(var);
+            columnValues.put(column.getId(), result);
+        }
+        return result;
+    }
+}
@@ -31,10 +31,12 @@ import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 import javax.faces.model.SelectItem;
 
+import org.primefaces.PrimeFaces;
 import org.primefaces.behavior.ajax.AjaxBehavior;
 import org.primefaces.extensions.util.Attrs;
 import org.primefaces.extensions.util.ExtLangUtils;
 import org.primefaces.extensions.util.JavascriptVarBuilder;
+import org.primefaces.extensions.util.JavascriptVarWriter;
 import org.primefaces.renderkit.CoreRenderer;
 import org.primefaces.shaded.json.JSONArray;
 import org.primefaces.shaded.json.JSONException;
@@ -63,6 +65,19 @@ public class SheetRenderer extends CoreRenderer {
         // update column mappings on render
         sheet.updateColumnMappings();
 
+        // window of rows requested by a lazy sheet while scrolling, the request does not process the sheet
+        final String window = context.getExternalContext().getRequestParameterMap().get(sheet.getClientId(context) + "_window");
+        if (window != null && sheet.isLazy()) {
+            encodeLazyRows(context, sheet, Integer.parseInt(window));
+            return;
+        }
+
+        // sort and filter changes are sent as a row diff, the client keeps its markup
+        if (sheet.isRowDiffRequest(context)) {
+            sheet.renderRowDiffScript(context);
+            return;
+        }
+
         // sort data
         sheet.sortAndFilter();
 
@@ -223,6 +238,9 @@ public class SheetRenderer extends CoreRenderer {
         encodeOptionalAttr(wb, "placeholderCellClassName", sheet.getPlaceholderCellStyleClass());
         encodeOptionalAttr(wb, "readOnlyCellClassName", sheet.getReadOnlyCellStyleClass());
         encodeOptionalNativeAttr(wb, "extender", sheet.getExtender());
+        if (sheet.isDiffUpdates() && !sheet.isLazy()) {
+            wb.nativeAttr("diffUpdates", "true");
+        }
 
         String emptyMessage = sheet.getEmptyMessage();
         if (LangUtils.isValueBlank(emptyMessage)) {
@@ -404,20 +422,29 @@ public class SheetRenderer extends CoreRenderer {
     }
 
     /**
-     * Encode the row data. Builds row data, style data and read only object.
+     * Encode the row data. Builds row data, style data and read only object. The data array is streamed directly to the response, the smaller per row arrays
+     * are collected in their own buffers meanwhile.
      */
     protected void encodeData(final FacesContext context, final Sheet sheet, final WidgetBuilder wb)
                 throws IOException {
 
-        final JavascriptVarBuilder jsData = new JavascriptVarBuilder(null, false);
-        final JavascriptVarBuilder jsRowKeys = new JavascriptVarBuilder(null, false);
-        final JavascriptVarBuilder jsStyle = new JavascriptVarBuilder(null, true);
-        final JavascriptVarBuilder jsRowStyle = new JavascriptVarBuilder(null, false);
-        final JavascriptVarBuilder jsReadOnly = new JavascriptVarBuilder(null, true);
-        final JavascriptVarBuilder jsRowHeaders = new JavascriptVarBuilder(null, false);
+        final StringBuilder rowKeys = new StringBuilder();
+        final StringBuilder styles = new StringBuilder();
+        final StringBuilder rowStyles = new StringBuilder();
+        final StringBuilder readOnlyCells = new StringBuilder();
+        final StringBuilder rowHeaders = new StringBuilder();
+
+        final JavascriptVarWriter jsRowKeys = new JavascriptVarWriter(rowKeys, false);
+        final JavascriptVarWriter jsStyle = new JavascriptVarWriter(styles, true);
+        final JavascriptVarWriter jsRowStyle = new JavascriptVarWriter(rowStyles, false);
+        final JavascriptVarWriter jsReadOnly = new JavascriptVarWriter(readOnlyCells, true);
+        final JavascriptVarWriter jsRowHeaders = new JavascriptVarWriter(rowHeaders, false);
 
         final boolean isCustomHeader = sheet.getRowHeaderValueExpression() != null;
 
+        wb.append(",data:");
+        final JavascriptVarWriter jsData = new JavascriptVarWriter(context.getResponseWriter(), false);
+
         final List<Object> values = sheet.getSortedValues();
         int row = 0;
         for (final Object value : values) {
@@ -434,33 +461,149 @@ public class SheetRenderer extends CoreRenderer {
             }
             row++;
         }
+        jsData.closeVar();
 
         sheet.setRowVar(context, null);
 
-        wb.nativeAttr("data", jsData.closeVar().toString());
-        wb.nativeAttr("styles", jsStyle.closeVar().toString());
-        wb.nativeAttr("rowStyles", jsRowStyle.closeVar().toString());
-        wb.nativeAttr("readOnlyCells", jsReadOnly.closeVar().toString());
-        wb.nativeAttr("rowKeys", jsRowKeys.closeVar().toString());
+        jsStyle.closeVar();
+        jsRowStyle.closeVar();
+        jsReadOnly.closeVar();
+        jsRowKeys.closeVar();
+        wb.nativeAttr("styles", styles.toString());
+        wb.nativeAttr("rowStyles", rowStyles.toString());
+        wb.nativeAttr("readOnlyCells", readOnlyCells.toString());
+        wb.nativeAttr("rowKeys", rowKeys.toString());
 
         // add the row header as a native attribute
         if (!isCustomHeader) {
             wb.nativeAttr("rowHeaders", Boolean.toString(sheet.isShowRowHeaders()));
         }
         else {
-            wb.nativeAttr("rowHeaders", jsRowHeaders.closeVar().toString());
+            jsRowHeaders.closeVar();
+            wb.nativeAttr("rowHeaders", rowHeaders.toString());
+        }
+
+        // lazy sheets only contain the first window, the widget fetches the others on scroll
+        if (sheet.isLazy()) {
+            wb.nativeAttr("lazy", "true");
+            wb.nativeAttr("pageSize", sheet.getPageSize().toString());
+            wb.nativeAttr("totalRows", Integer.toString(sheet.getRowCount()));
         }
     }
 
+    /**
+     * Encodes a window of rows of a lazy sheet requested by the widget while scrolling. The rows are sent back as a script calling the widget's
+     * <code>loadRows</code> function.
+     *
+     * @param context the FacesContext
+     * @param sheet the Sheet
+     * @param first the index of the first row of the window
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeLazyRows(final FacesContext context, final Sheet sheet, final int first) throws IOException {
+        final StringBuilder eval = new StringBuilder();
+        final StringBuilder rowKeys = new StringBuilder();
+        final StringBuilder styles = new StringBuilder();
+        final StringBuilder rowStyles = new StringBuilder();
+        final StringBuilder readOnlyCells = new StringBuilder();
+        final StringBuilder rowHeaders = new StringBuilder();
+
+        final JavascriptVarWriter jsRowKeys = new JavascriptVarWriter(rowKeys, false);
+        final JavascriptVarWriter jsStyle = new JavascriptVarWriter(styles, true);
+        final JavascriptVarWriter jsRowStyle = new JavascriptVarWriter(rowStyles, false);
+        final JavascriptVarWriter jsReadOnly = new JavascriptVarWriter(readOnlyCells, true);
+        final JavascriptVarWriter jsRowHeaders = new JavascriptVarWriter(rowHeaders, false);
+
+        final boolean isCustomHeader = sheet.isShowRowHeaders() && sheet.getRowHeaderValueExpression() != null;
+
+        final List<Object> values = sheet.loadLazyRows(first);
+        eval.append("PF('").append(sheet.resolveWidgetVar()).append("')");
+        eval.append(".loadRows({first:").append(first);
+        eval.append(",totalRows:").append(sheet.getRowCount());
+        eval.append(",data:");
+        final JavascriptVarWriter jsData = new JavascriptVarWriter(eval, false);
+
+        int row = first;
+        for (final Object value : values) {
+            context.getExternalContext().getRequestMap().put(sheet.getVar(), value);
+            final String rowKey = sheet.getRowKeyValueAsString(context);
+            jsRowKeys.appendArrayValue(rowKey, true);
+            encodeRow(context, rowKey, jsData, jsRowStyle, jsStyle, jsReadOnly, sheet, row);
+            if (isCustomHeader) {
+                jsRowHeaders.appendArrayValue(sheet.getRowHeaderValueAsString(context), true);
+            }
+            row++;
+        }
+        jsData.closeVar();
+        sheet.setRowVar(context, null);
+
+        jsStyle.closeVar();
+        jsRowStyle.closeVar();
+        jsReadOnly.closeVar();
+        jsRowKeys.closeVar();
+        eval.append(",styles:").append(styles);
+        eval.append(",rowStyles:").append(rowStyles);
+        eval.append(",readOnlyCells:").append(readOnlyCells);
+        eval.append(",rowKeys:").append(rowKeys);
+        if (isCustomHeader) {
+            jsRowHeaders.closeVar();
+            eval.append(",rowHeaders:").append(rowHeaders);
+        }
+        eval.append("});");
+        PrimeFaces.current().executeScript(eval.toString());
+    }
+
     /**
      * Encode a single row.
      *
      * @return the JSON row
+     * @deprecated the sheet streams its rows through
+     *             {@link #encodeRow(FacesContext, String, JavascriptVarWriter, JavascriptVarWriter, JavascriptVarWriter, JavascriptVarWriter, Sheet, int)}
+     *             and no longer calls this method; it is kept for renderer subclasses and delegates to the streaming variant.
      */
+    @Deprecated
     protected JavascriptVarBuilder encodeRow(final FacesContext context, final String rowKey,
                 final JavascriptVarBuilder jsData, final JavascriptVarBuilder jsRowStyle,
                 final JavascriptVarBuilder jsStyle, final JavascriptVarBuilder jsReadOnly, final Sheet sheet,
                 final int rowIndex) {
+        final StringBuilder data = new StringBuilder();
+        final StringBuilder rowStyle = new StringBuilder();
+        final StringBuilder style = new StringBuilder();
+        final StringBuilder readOnly = new StringBuilder();
+        try {
+            final JavascriptVarWriter jsDataWriter = new JavascriptVarWriter(data, false);
+            final JavascriptVarWriter jsRowStyleWriter = new JavascriptVarWriter(rowStyle, false);
+            final JavascriptVarWriter jsStyleWriter = new JavascriptVarWriter(style, true);
+            final JavascriptVarWriter jsReadOnlyWriter = new JavascriptVarWriter(readOnly, true);
+            encodeRow(context, rowKey, jsDataWriter, jsRowStyleWriter, jsStyleWriter, jsReadOnlyWriter, sheet, rowIndex);
+        }
+        catch (final IOException e) {
+            // StringBuilder targets never throw
+            throw new FacesException(e);
+        }
+        // copy the content of each scratch var (without its enclosing brackets) into the builders
+        appendContent(jsData, data);
+        appendContent(jsRowStyle, rowStyle);
+        appendContent(jsStyle, style);
+        appendContent(jsReadOnly, readOnly);
+        return jsData;
+    }
+
+    private static void appendContent(final JavascriptVarBuilder target, final StringBuilder source) {
+        if (source.length() > 1) {
+            target.appendArrayValue(source.substring(1), false);
+        }
+    }
+
+    /**
+     * Encode a single row, streaming the row data array to jsData.
+     *
+     * @throws IOException if any IO error occurs
+     */
+    protected void encodeRow(final FacesContext context, final String rowKey,
+                final JavascriptVarWriter jsData, final JavascriptVarWriter jsRowStyle,
+                final JavascriptVarWriter jsStyle, final JavascriptVarWriter jsReadOnly, final Sheet sheet,
+                final int rowIndex) throws IOException {
         // encode rowStyle (if any)
         final String rowStyleClass = sheet.getRowStyleClass();
         if (rowStyleClass == null) {
@@ -471,7 +614,7 @@ public class SheetRenderer extends CoreRenderer {
         }
 
         // data is array of array of data
-        final JavascriptVarBuilder jsRow = new JavascriptVarBuilder(null, false);
+        final JavascriptVarWriter jsRow = jsData.startArrayValue(false);
         int renderCol = 0;
         for (int col = 0; col < sheet.getColumns().size(); col++) {
             final SheetColumn column = sheet.getColumns().get(col);
@@ -496,9 +639,8 @@ public class SheetRenderer extends CoreRenderer {
             }
             renderCol++;
         }
-        // close row and append to jsData
-        jsData.appendArrayValue(jsRow.closeVar().toString(), false);
-        return jsData;
+        // close row
+        jsRow.closeVar();
     }
 
     /**
@@ -525,6 +667,13 @@ public class SheetRenderer extends CoreRenderer {
         }
         responseWriter.endElement("input");
 
+        responseWriter.startElement("input", null);
+        responseWriter.writeAttribute("id", clientId + "_version", "id");
+        responseWriter.writeAttribute("name", clientId + "_version", "name");
+        responseWriter.writeAttribute("type", "hidden", null);
+        responseWriter.writeAttribute("value", sheet.isDiffUpdates() ? Integer.toString(sheet.getDataVersion()) : "", null);
+        responseWriter.endElement("input");
+
         responseWriter.startElement("input", null);
         responseWriter.writeAttribute("id", clientId + "_selection", "id");
         responseWriter.writeAttribute("name", clientId + "_selection", "name");
@@ -574,14 +723,14 @@ public class SheetRenderer extends CoreRenderer {
                         sheet, "sort", clientId, params);
             final AjaxBehavior ajaxBehavior = (AjaxBehavior) behaviors.get("sort").get(0);
             ajaxBehavior.setUpdate(ExtLangUtils.defaultString(ajaxBehavior.getUpdate()) + " " + clientId);
-            wb.append("sort").append(":").append("function(s, event)").append("{")
+            wb.append("sort").append(":").append("function(ext, event)").append("{")
                         .append(behaviors.get("sort").get(0).getScript(behaviorContext)).append("}");
         }
         else {
             // default sort event if none defined by user
-            wb.append("sort").append(":").append("function(s, event)").append("{").append("PrimeFaces.ab({source: '")
+            wb.append("sort").append(":").append("function(ext, event)").append("{").append("PrimeFaces.ab({source: '")
                         .append(clientId).append("',event: 'sort', process: '").append(clientId).append("', update: '")
-                        .append(clientId).append("'});}");
+                        .append(clientId).append("'}, ext);}");
         }
 
         // filter
@@ -590,12 +739,12 @@ public class SheetRenderer extends CoreRenderer {
                         sheet, "filter", clientId, params);
             final AjaxBehavior ajaxBehavior = (AjaxBehavior) behaviors.get("filter").get(0);
             ajaxBehavior.setUpdate(ExtLangUtils.defaultString(ajaxBehavior.getUpdate()) + " " + clientId);
-            wb.callback("filter", "function(source, event)", behaviors.get("filter").get(0).getScript(behaviorContext));
+            wb.callback("filter", "function(ext, event)", behaviors.get("filter").get(0).getScript(behaviorContext));
         }
         else {
             // default filter event if none defined by user
-            wb.callback("filter", "function(source, event)", "PrimeFaces.ab({s: '" + clientId
-                        + "', event: 'filter', process: '" + clientId + "', update: '" + clientId + "'});");
+            wb.callback("filter", "function(ext, event)", "PrimeFaces.ab({s: '" + clientId
+                        + "', event: 'filter', process: '" + clientId + "', update: '" + clientId + "'}, ext);");
         }
 
         if (behaviors.containsKey("change")) {
@@ -798,6 +947,14 @@ public class SheetRenderer extends CoreRenderer {
 
         final String focus = params.get(clientId + "_focus");
         sheet.setFocusId(focus);
+
+        final String version = params.get(clientId + "_version");
+        sheet.setClientVersion(LangUtils.isValueBlank(version) ? null : Integer.valueOf(version));
+
+        // remember the rows the client has before the sort or filter change is applied, the diff is rendered in encodeEnd
+        if (sheet.isRowDiffRequest(context)) {
+            sheet.saveClientRows();
+        }
     }
 
     /**
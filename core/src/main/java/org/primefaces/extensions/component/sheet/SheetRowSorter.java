@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.el.ValueExpression;
+import javax.faces.context.FacesContext;
+
+import org.primefaces.model.SortOrder;
+
+/**
+ * Sorts the rows of a Sheet by one or more sort keys. The sortBy expressions are evaluated once per row (decorate), the decorated rows are sorted by the
+ * extracted keys and the rows are copied back into the list (undecorate). Compared to a comparator evaluating the expressions for each comparison this
+ * reduces the EL evaluations from O(n log n) to O(n). The comparison semantics follow the PrimeFaces BeanPropertyComparator.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+class SheetRowSorter {
+
+    private final List<ValueExpression> expressions = new ArrayList<>();
+
+    private final List<Boolean> ascending = new ArrayList<>();
+
+    private final boolean caseSensitive;
+
+    private final int nullSortOrder;
+
+    private final boolean parallel;
+
+    private final Collator collator = Collator.getInstance(Locale.ENGLISH);
+
+    /**
+     * @param caseSensitive whether string keys are compared case sensitive
+     * @param nullSortOrder 1 to place null keys at the end in ascending order, -1 for the opposite
+     * @param parallel whether to sort on the fork-join pool
+     */
+    SheetRowSorter(final boolean caseSensitive, final int nullSortOrder, final boolean parallel) {
+        this.caseSensitive = caseSensitive;
+        this.nullSortOrder = nullSortOrder;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Adds a sort key. Keys are compared in the order they have been added.
+     *
+     * @param expression the sortBy expression evaluated against the row var
+     * @param order the sort direction
+     * @return this sorter
+     */
+    SheetRowSorter addKey(final ValueExpression expression, final SortOrder order) {
+        expressions.add(expression);
+        ascending.add(order != SortOrder.DESCENDING);
+        return this;
+    }
+
+    /**
+     * Sorts the list in place. The sort is stable.
+     *
+     * @param context the FacesContext
+     * @param var the name of the row var
+     * @param rows the rows to sort
+     */
+    void sort(final FacesContext context, final String var, final List<Object> rows) {
+        if (expressions.isEmpty() || rows.size() < 2) {
+            return;
+        }
+
+        final Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+        final ELContext elContext = context.getELContext();
+        final int keyCount = expressions.size();
+
+        // decorate
+        final DecoratedRow[] decorated = new DecoratedRow[rows.size()];
+        int i = 0;
+        for (final Object row : rows) {
+            requestMap.put(var, row);
+            final Comparable[] keys = new Comparable[keyCount];
+            for (int k = 0; k < keyCount; k++) {
+                keys[k] = toKey(expressions.get(k).getValue(elContext));
+            }
+            decorated[i++] = new DecoratedRow(row, keys);
+        }
+        requestMap.remove(var);
+
+        // sort
+        final Comparator<DecoratedRow> comparator = this::compare;
+        if (parallel) {
+            Arrays.parallelSort(decorated, comparator);
+        }
+        else {
+            Arrays.sort(decorated, comparator);
+        }
+
+        // undecorate
+        for (i = 0; i < decorated.length; i++) {
+            rows.set(i, decorated[i].row);
+        }
+    }
+
+    /**
+     * Converts an evaluated value into a key. Strings are converted into collation keys up front so that comparisons do not need to normalize them again.
+     */
+    private Comparable toKey(final Object value) {
+        if (value instanceof String) {
+            final String text = caseSensitive ? (String) value : ((String) value).toLowerCase(Locale.ENGLISH);
+            return collator.getCollationKey(text);
+        }
+        return (Comparable) value;
+    }
+
+    private int compare(final DecoratedRow row1, final DecoratedRow row2) {
+        for (int k = 0; k < row1.keys.length; k++) {
+            final int result = compareKey(row1.keys[k], row2.keys[k]);
+            if (result != 0) {
+                return ascending.get(k) ? result : -1 * result;
+            }
+        }
+        return 0;
+    }
+
+    private int compareKey(final Comparable key1, final Comparable key2) {
+        if (key1 == null && key2 == null) {
+            return 0;
+        }
+        else if (key1 == null) {
+            return nullSortOrder;
+        }
+        else if (key2 == null) {
+            return -1 * nullSortOrder;
+        }
+        return key1.compareTo(key2);
+    }
+
+    /**
+     * A row together with its extracted sort keys.
+     */
+    private static final class DecoratedRow {
+
+        private final Object row;
+
+        private final Comparable[] keys;
+
+        private DecoratedRow(final Object row, final Comparable[] keys) {
+            this.row = row;
+            this.keys = keys;
+        }
+    }
+}
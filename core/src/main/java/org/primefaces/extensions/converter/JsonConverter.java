@@ -16,11 +16,14 @@
 package org.primefaces.extensions.converter;
 
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.el.ValueExpression;
 import javax.faces.application.FacesMessage;
@@ -32,6 +35,7 @@ import javax.faces.convert.FacesConverter;
 
 import org.primefaces.extensions.util.ExtLangUtils;
 import org.primefaces.extensions.util.json.GsonConverter;
+import org.primefaces.extensions.util.json.JsonCodec;
 import org.primefaces.extensions.util.json.ParameterizedTypeImpl;
 import org.primefaces.util.Constants;
 
@@ -70,6 +74,11 @@ public class JsonConverter implements Converter, Serializable {
         PRIMITIVE_ARRAY_CLASSES.put("double[]", double[].class);
     }
 
+    private static final int MAX_CACHED_TYPES = 512;
+
+    // parsed types per class loader, the soft references let the class loader of an undeployed application be collected
+    private static final Map<ClassLoader, SoftReference<Map<String, java.lang.reflect.Type>>> TYPES = new WeakHashMap<>();
+
     private String type;
 
     @Override
@@ -81,20 +90,58 @@ public class JsonConverter implements Converter, Serializable {
             objType = expression.getType(context.getELContext());
         }
         else {
-            objType = getObjectType(getType().trim(), false);
+            objType = getCachedObjectType(getType().trim());
         }
 
-        return GsonConverter.getGson().fromJson(value, objType);
+        return getCodec().fromJson(value, objType);
     }
 
     @Override
     public String getAsString(FacesContext context, UIComponent component, Object value) {
         if (getType() == null) {
-            return GsonConverter.getGson().toJson(value);
+            return getCodec().toJson(value, null);
         }
         else {
-            return GsonConverter.getGson().toJson(value, getObjectType(getType().trim(), false));
+            return getCodec().toJson(value, getCachedObjectType(getType().trim()));
+        }
+    }
+
+    /**
+     * Gets the codec reading and writing JSON.
+     *
+     * @return JsonCodec the codec
+     */
+    protected JsonCodec getCodec() {
+        return GsonConverter.getCodec();
+    }
+
+    /**
+     * Gets the parsed type from a bounded cache per class loader, parses the type on a cache miss.
+     *
+     * @param type the type string
+     * @return Type the parsed type
+     */
+    protected java.lang.reflect.Type getCachedObjectType(String type) {
+        final ClassLoader classLoader = getClassLoader();
+        Map<String, java.lang.reflect.Type> types;
+        synchronized (TYPES) {
+            final SoftReference<Map<String, java.lang.reflect.Type>> reference = TYPES.get(classLoader);
+            types = reference != null ? reference.get() : null;
+            if (types == null) {
+                types = new ConcurrentHashMap<>();
+                TYPES.put(classLoader, new SoftReference<>(types));
+            }
         }
+
+        java.lang.reflect.Type objType = types.get(type);
+        if (objType == null) {
+            objType = getObjectType(type, false);
+            if (types.size() < MAX_CACHED_TYPES) {
+                types.put(type, objType);
+            }
+        }
+
+        return objType;
     }
 
     protected java.lang.reflect.Type getObjectType(String type, boolean isTypeArg) {
@@ -121,7 +168,7 @@ public class JsonConverter implements Converter, Serializable {
         if (arrayBracketIdx >= 0 && (leftBracketIdx < 0 || arrayBracketIdx < leftBracketIdx)) {
             // array
             try {
-                clazz = Class.forName(type.substring(0, arrayBracketIdx));
+                clazz = loadClass(type.substring(0, arrayBracketIdx));
 
                 return Array.newInstance(clazz, 0).getClass();
             }
@@ -132,7 +179,7 @@ public class JsonConverter implements Converter, Serializable {
 
         if (leftBracketIdx < 0) {
             try {
-                return Class.forName(type);
+                return loadClass(type);
             }
             catch (final ClassNotFoundException e) {
                 throw notFoundException(type);
@@ -147,7 +194,7 @@ public class JsonConverter implements Converter, Serializable {
 
         Class rawType;
         try {
-            rawType = Class.forName(type.substring(0, leftBracketIdx));
+            rawType = loadClass(type.substring(0, leftBracketIdx));
         }
         catch (final ClassNotFoundException e) {
             throw notFoundException(type.substring(0, leftBracketIdx));
@@ -201,6 +248,15 @@ public class JsonConverter implements Converter, Serializable {
         this.type = type;
     }
 
+    protected Class<?> loadClass(String className) throws ClassNotFoundException {
+        return Class.forName(className, true, getClassLoader());
+    }
+
+    private static ClassLoader getClassLoader() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : JsonConverter.class.getClassLoader();
+    }
+
     private ConverterException notFoundException(String classType) {
         return new ConverterException(new FacesMessage(FacesMessage.SEVERITY_ERROR,
                     "Class " + classType + " not found", Constants.EMPTY_STRING));
@@ -15,12 +15,8 @@
  */
 package org.primefaces.extensions.converter;
 
-import javax.el.ValueExpression;
-import javax.faces.component.UIComponent;
-import javax.faces.context.FacesContext;
-
-import org.primefaces.extensions.util.json.GsonConverter;
 import org.primefaces.extensions.util.json.GsonExposeAwareConverter;
+import org.primefaces.extensions.util.json.JsonCodec;
 
 /**
  * Extension of {@link org.primefaces.extensions.converter.JsonConverter}. It uses specific Gson converters from this tag library.
@@ -51,42 +47,12 @@ public class JsonExposeAwareConverter extends JsonConverter {
     }
 
     @Override
-    public Object getAsObject(FacesContext context, UIComponent component, String value) {
-        java.lang.reflect.Type objType;
-
-        if (getType() == null) {
-            final ValueExpression expression = component.getValueExpression("value");
-            objType = expression.getType(context.getELContext());
-        }
-        else {
-            objType = getObjectType(getType().trim(), false);
-        }
-
-        if (excludeFieldsWithoutExposeAnnotation) {
-            return GsonExposeAwareConverter.getGson().fromJson(value, objType);
-        }
-        else {
-            return GsonConverter.getGson().fromJson(value, objType);
-        }
-    }
-
-    @Override
-    public String getAsString(FacesContext context, UIComponent component, Object value) {
+    protected JsonCodec getCodec() {
         if (excludeFieldsWithoutExposeAnnotation) {
-            if (getType() == null) {
-                return GsonExposeAwareConverter.getGson().toJson(value);
-            }
-            else {
-                return GsonExposeAwareConverter.getGson().toJson(value, getObjectType(getType().trim(), false));
-            }
+            return GsonExposeAwareConverter.getCodec();
         }
         else {
-            if (getType() == null) {
-                return GsonConverter.getGson().toJson(value);
-            }
-            else {
-                return GsonConverter.getGson().toJson(value, getObjectType(getType().trim(), false));
-            }
+            return super.getCodec();
         }
     }
 }
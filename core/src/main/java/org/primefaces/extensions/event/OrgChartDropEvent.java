@@ -39,18 +39,42 @@ public class OrgChartDropEvent extends AjaxBehaviorEvent {
 
     private String droppedZoneId;
 
+    private String dragZoneId;
+
+    private int index = -1;
+
     public OrgChartDropEvent(UIComponent component, Behavior behavior, String hierarchyStr,
                 String draggedNodeId, String droppedZoneId) {
         super(component, behavior);
-        hierarchy = new JSONObject(hierarchyStr);
+        if (hierarchyStr != null) {
+            hierarchy = new JSONObject(hierarchyStr);
+        }
         this.draggedNodeId = draggedNodeId;
         this.droppedZoneId = droppedZoneId;
     }
 
+    public OrgChartDropEvent(UIComponent component, Behavior behavior, String draggedNodeId, String dragZoneId,
+                String droppedZoneId, int index) {
+        this(component, behavior, null, draggedNodeId, droppedZoneId);
+        this.dragZoneId = dragZoneId;
+        this.index = index;
+    }
+
+    /**
+     * @return the hierarchy of the chart or null, the widget only submits the moved node
+     * @deprecated the hierarchy is no longer submitted with a drop, use {@link #getDraggedNodeId()}, {@link #getDragZoneId()},
+     *             {@link #getDroppedZoneId()} and {@link #getIndex()} instead
+     */
+    @Deprecated
     public JSONObject getHierarchy() {
         return hierarchy;
     }
 
+    /**
+     * @param hierarchy the hierarchy of the chart
+     * @deprecated the hierarchy is no longer submitted with a drop
+     */
+    @Deprecated
     public void setHierarchy(JSONObject hierarchy) {
         this.hierarchy = hierarchy;
     }
@@ -71,4 +95,26 @@ public class OrgChartDropEvent extends AjaxBehaviorEvent {
         this.droppedZoneId = droppedZoneId;
     }
 
+    /**
+     * @return the id of the former parent of the dragged node
+     */
+    public String getDragZoneId() {
+        return dragZoneId;
+    }
+
+    public void setDragZoneId(String dragZoneId) {
+        this.dragZoneId = dragZoneId;
+    }
+
+    /**
+     * @return the position of the dragged node among the children of the drop zone or -1 if unknown
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
 }
@@ -17,7 +17,9 @@ package org.primefaces.extensions.model.dynaform;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -36,6 +38,7 @@ public class DynaFormModel implements Serializable {
     private List<DynaFormRow> extendedRows = null;
     private final List<DynaFormLabel> labels = new ArrayList<>();
     private final List<DynaFormControl> controls = new ArrayList<>();
+    private transient Map<String, DynaFormControl> controlsByKey = null;
 
     public DynaFormModel() {
         uuid = UUID.randomUUID().toString();
@@ -57,6 +60,58 @@ public class DynaFormModel implements Serializable {
         return controls;
     }
 
+    /**
+     * Finds the control with the given key. The lookup uses an index which is kept in sync when rows are added or removed and is rebuilt if the list of
+     * controls was changed from outside. A miss rebuilds the index once, so keys changed via setKey() are found as well.
+     *
+     * @param key unique key of the control
+     * @return {@link DynaFormControl} the control or null if there is no control with this key
+     */
+    public DynaFormControl getControl(final String key) {
+        if (key == null) {
+            return null;
+        }
+
+        boolean rebuilt = false;
+        if (controlsByKey == null || controlsByKey.size() != controls.size()) {
+            rebuildControlIndex();
+            rebuilt = true;
+        }
+
+        DynaFormControl control = controlsByKey.get(key);
+        if (!rebuilt && (control == null || !key.equals(control.getKey()))) {
+            // a key may have been changed via setKey()
+            rebuildControlIndex();
+            control = controlsByKey.get(key);
+        }
+
+        return control;
+    }
+
+    void addControl(final DynaFormControl control) {
+        controls.add(control);
+        if (controlsByKey != null) {
+            controlsByKey.put(control.getKey(), control);
+        }
+    }
+
+    void addControls(final List<DynaFormControl> controlsToBeAdded) {
+        for (final DynaFormControl control : controlsToBeAdded) {
+            addControl(control);
+        }
+    }
+
+    void resetControlIndex() {
+        controlsByKey = null;
+    }
+
+    private void rebuildControlIndex() {
+        controlsByKey = new HashMap<>(controls.size() * 4 / 3 + 1);
+        for (final DynaFormControl control : controls) {
+            controlsByKey.put(control.getKey(), control);
+        }
+    }
+
     public List<DynaFormLabel> getLabels() {
         return labels;
     }
@@ -158,6 +213,11 @@ public class DynaFormModel implements Serializable {
         }
 
         controls.removeAll(controlsToBeRemoved);
+        if (controlsByKey != null) {
+            for (final DynaFormControl control : controlsToBeRemoved) {
+                controlsByKey.remove(control.getKey(), control);
+            }
+        }
         labels.removeAll(labelsToBeRemoved);
         for (final DynaFormLabel label : labels) {
             if (label.getForControl() != null && controlsToBeRemoved.contains(label.getForControl())) {
@@ -180,7 +240,13 @@ public class DynaFormModel implements Serializable {
                     final DynaFormControl control = (DynaFormControl) element;
                     final int delta = rowToBeRemoved.getElements().size();
                     control.setPosition(control.getPosition() - delta);
+                    if (controlsByKey != null) {
+                        controlsByKey.remove(control.getKey(), control);
+                    }
                     control.generateKey();
+                    if (controlsByKey != null) {
+                        controlsByKey.put(control.getKey(), control);
+                    }
                 }
             }
         }
@@ -38,6 +38,7 @@ public class DynaFormModelElement extends AbstractDynaFormElement {
             control.setPosition(position + control.getPosition());
             control.generateKey();
         }
+        model.resetControlIndex();
     }
 
     public DynaFormModel getModel() {
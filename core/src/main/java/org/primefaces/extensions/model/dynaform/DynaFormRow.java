@@ -103,7 +103,7 @@ public class DynaFormRow implements Serializable {
                     extended);
 
         elements.add(dynaFormControl);
-        dynaFormModel.getControls().add(dynaFormControl);
+        dynaFormModel.addControl(dynaFormControl);
         totalColspan = totalColspan + colspan;
 
         return dynaFormControl;
@@ -137,7 +137,7 @@ public class DynaFormRow implements Serializable {
                     extended);
 
         elements.add(nestedModel);
-        dynaFormModel.getControls().addAll(model.getControls());
+        dynaFormModel.addControls(model.getControls());
         totalColspan = totalColspan + colspan;
 
         return nestedModel;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.model.sheet;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.primefaces.model.SortOrder;
+
+/**
+ * Model for a Sheet that loads its rows on demand. Instead of rendering the whole collection, the Sheet only asks the model for the window of rows around
+ * the client viewport. Sorting and filtering is delegated to the model as well.
+ *
+ * @param <T> the type of the row objects
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public abstract class LazySheetModel<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int rowCount;
+
+    /**
+     * Loads a window of rows.
+     *
+     * @param first the index of the first row to load
+     * @param pageSize the maximum number of rows to load
+     * @param sortBy the ID of the column to sort by or null if unsorted
+     * @param sortOrder the sort direction
+     * @param filters the filter values keyed by the ID of the filtered column
+     * @return the rows of the window, never null
+     */
+    public abstract List<T> load(int first, int pageSize, String sortBy, SortOrder sortOrder, Map<String, String> filters);
+
+    /**
+     * Resolves a row by its row key. The Sheet only keeps the rows of the windows loaded in the current view, so edits of other rows, and of any row
+     * when the Sheet saves its state in the "keys" mode, are applied to the row returned here.
+     *
+     * @param rowKey the Sheet row key of the row
+     * @return the row object or null if the row no longer exists, pending edits of the row are then discarded
+     */
+    public abstract T getRowData(String rowKey);
+
+    /**
+     * The total number of rows matching the current filters. Should be set by the {@link #load} implementation.
+     *
+     * @return the total row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Updates the total number of rows matching the current filters.
+     *
+     * @param rowCount the total row count
+     */
+    public void setRowCount(final int rowCount) {
+        this.rowCount = rowCount;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.model.sheet;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Applies the validated cell updates of a Sheet request in one call, e.g. as a single batch statement, instead of the Sheet setting each cell through its
+ * value expression.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+@FunctionalInterface
+public interface SheetUpdateHandler extends Serializable {
+
+    /**
+     * Applies the updates to the model. The updates are grouped by row.
+     *
+     * @param updates the cell updates holding the row data, the column index and the old and new value
+     */
+    void applyUpdates(List<SheetUpdate> updates);
+}
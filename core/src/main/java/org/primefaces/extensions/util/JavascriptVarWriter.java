@@ -0,0 +1,151 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.util;
+
+import java.io.IOException;
+
+import org.primefaces.util.EscapeUtils;
+
+/**
+ * Streaming counterpart of {@link JavascriptVarBuilder}. Writes a JavaScript object or array directly to an {@link Appendable} (e.g. the ResponseWriter or
+ * a reused StringBuilder) instead of building intermediate strings. Quoted values are escaped exactly like {@link JavascriptVarBuilder} does.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class JavascriptVarWriter {
+
+    private final Appendable out;
+
+    private final boolean isObject;
+
+    private boolean firstValue = true;
+
+    /**
+     * Constructs an instance of the writer and opens the object or array.
+     *
+     * @param out the target to write to
+     * @param isObject true if writing an Object, false if an array.
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter(final Appendable out, final boolean isObject) throws IOException {
+        this.out = out;
+        this.isObject = isObject;
+        out.append(isObject ? '{' : '[');
+    }
+
+    /**
+     * Called internally to prepare for next value
+     */
+    private void next() throws IOException {
+        if (firstValue) {
+            firstValue = false;
+        }
+        else {
+            out.append(',');
+        }
+    }
+
+    /**
+     * Appends an Object name/value pair to the object.
+     *
+     * @param propertyName the property name
+     * @param propertyValue the property value
+     * @param quoted if true, the value is quoted and escaped.
+     * @return this writer
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter appendProperty(final String propertyName, final String propertyValue, final boolean quoted) throws IOException {
+        next();
+        out.append(propertyName);
+        out.append(':');
+        return appendText(propertyValue, quoted);
+    }
+
+    /**
+     * Appends a property with the name "rYY_cXX" where YY is the row and XX is he column.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param propertyValue the property value
+     * @param quoted if true, the value is quoted and escaped.
+     * @return this writer
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter appendRowColProperty(final int row, final int col, final String propertyValue, final boolean quoted) throws IOException {
+        next();
+        out.append('r').append(Integer.toString(row)).append("_c").append(Integer.toString(col)).append(':');
+        return appendText(propertyValue, quoted);
+    }
+
+    /**
+     * Appends an array value.
+     *
+     * @param value the value
+     * @param quoted if true, the value is quoted and escaped.
+     * @return this writer
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter appendArrayValue(final String value, final boolean quoted) throws IOException {
+        next();
+        return appendText(value, quoted);
+    }
+
+    /**
+     * Opens a nested object or array as the next array value. The nested writer must be closed before this writer is used again.
+     *
+     * @param nestedIsObject true if the nested value is an Object, false if an array.
+     * @return the writer of the nested value
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter startArrayValue(final boolean nestedIsObject) throws IOException {
+        next();
+        return new JavascriptVarWriter(out, nestedIsObject);
+    }
+
+    /**
+     * Appends text.
+     *
+     * @param value the value to append
+     * @param quoted if true, the value is quoted and escaped.
+     * @return this writer
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter appendText(final String value, final boolean quoted) throws IOException {
+        if (quoted) {
+            out.append('"');
+            if (value != null) {
+                out.append(EscapeUtils.forJavaScript(value));
+            }
+            out.append('"');
+        }
+        else if (value != null) {
+            out.append(value);
+        }
+        return this;
+    }
+
+    /**
+     * Closes the array or object.
+     *
+     * @return this writer
+     * @throws IOException if any IO error occurs
+     */
+    public JavascriptVarWriter closeVar() throws IOException {
+        out.append(isObject ? '}' : ']');
+        return this;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.util.json;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * {@link JsonCodec} backed by Gson. The type adapters are cached per type, so that repeated conversions of the same type skip the canonicalization of
+ * the type by Gson. Reading and writing behaves like {@link Gson#fromJson(String, Type)} and {@link Gson#toJson(Object, Type)}.
+ *
+ * @author agent / last modified by $Author$
+ * @version $Revision$
+ * @since 9.0
+ */
+public class GsonCodec implements JsonCodec {
+
+    private static final int MAX_CACHED_ADAPTERS = 512;
+
+    private final Gson gson;
+
+    private final Map<Type, TypeAdapter<Object>> adapters = new ConcurrentHashMap<>();
+
+    public GsonCodec(final Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public Object fromJson(final String json, final Type type) {
+        if (json == null) {
+            return null;
+        }
+
+        final JsonReader reader = gson.newJsonReader(new StringReader(json));
+        reader.setLenient(true);
+
+        boolean isEmpty = true;
+        try {
+            reader.peek();
+            isEmpty = false;
+
+            final Object value = getAdapter(type).read(reader);
+            if (value != null && reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIOException("JSON document was not fully consumed.");
+            }
+
+            return value;
+        }
+        catch (final EOFException e) {
+            // an empty document is read as null
+            if (isEmpty) {
+                return null;
+            }
+
+            throw new JsonSyntaxException(e);
+        }
+        catch (final MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        catch (final IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public String toJson(final Object value, final Type type) {
+        if (value == null && type == null) {
+            return "null";
+        }
+
+        final StringWriter out = new StringWriter();
+        try {
+            final JsonWriter writer = gson.newJsonWriter(out);
+            writer.setLenient(true);
+            writer.setHtmlSafe(gson.htmlSafe());
+            writer.setSerializeNulls(gson.serializeNulls());
+
+            getAdapter(type != null ? type : value.getClass()).write(writer, value);
+            writer.flush();
+        }
+        catch (final IOException e) {
+            throw new JsonIOException(e);
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Gets the Gson type adapter of a type, creating it on first use.
+     *
+     * @param type the type
+     * @return TypeAdapter the adapter
+     */
+    @SuppressWarnings("unchecked")
+    protected TypeAdapter<Object> getAdapter(final Type type) {
+        TypeAdapter<Object> adapter = adapters.get(type);
+        if (adapter == null) {
+            adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(type));
+            if (adapters.size() < MAX_CACHED_ADAPTERS) {
+                adapters.put(type, adapter);
+            }
+        }
+
+        return adapter;
+    }
+}
@@ -15,13 +15,20 @@
  */
 package org.primefaces.extensions.util.json;
 
+import java.lang.ref.SoftReference;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 /**
- * Singleton instance of Gson.
+ * Singleton instance of Gson and the {@link JsonCodec} used by the JSON converter. The codec is looked up with the {@link ServiceLoader} of the context
+ * class loader, so each application gets its own codec. If none is registered a {@link GsonCodec} is created per class loader with its own Gson instance, so
+ * the type adapters cached for the classes of an application do not outlive it.
  *
  * @author Oleg Varaksin / last modified by $Author$
  * @version $Revision$
@@ -32,16 +39,46 @@ public final class GsonConverter {
     private static final GsonConverter INSTANCE = new GsonConverter();
     private final Gson gson;
 
+    // codecs per class loader, the soft references let the class loader of an undeployed application be collected
+    private final Map<ClassLoader, SoftReference<JsonCodec>> codecs = new WeakHashMap<>();
+
     private GsonConverter() {
+        gson = createGson();
+    }
+
+    private static Gson createGson() {
         final GsonBuilder gsonBilder = new GsonBuilder();
 
         gsonBilder.registerTypeAdapter(Date.class, new DateTypeAdapter());
         gsonBilder.serializeNulls();
 
-        gson = gsonBilder.create();
+        return gsonBilder.create();
     }
 
     public static Gson getGson() {
         return INSTANCE.gson;
     }
+
+    public static JsonCodec getCodec() {
+        return INSTANCE.lookupCodec();
+    }
+
+    private JsonCodec lookupCodec() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = GsonConverter.class.getClassLoader();
+        }
+
+        synchronized (codecs) {
+            final SoftReference<JsonCodec> reference = codecs.get(classLoader);
+            JsonCodec codec = reference != null ? reference.get() : null;
+            if (codec == null) {
+                final Iterator<JsonCodec> registered = ServiceLoader.load(JsonCodec.class, classLoader).iterator();
+                codec = registered.hasNext() ? registered.next() : new GsonCodec(createGson());
+                codecs.put(classLoader, new SoftReference<>(codec));
+            }
+
+            return codec;
+        }
+    }
 }
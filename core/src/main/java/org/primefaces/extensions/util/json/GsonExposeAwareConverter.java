@@ -31,6 +31,7 @@ public final class GsonExposeAwareConverter {
 
     private static final GsonExposeAwareConverter INSTANCE = new GsonExposeAwareConverter();
     private final Gson gson;
+    private final JsonCodec codec;
 
     private GsonExposeAwareConverter() {
         final GsonBuilder gsonBilder = new GsonBuilder();
@@ -40,9 +41,19 @@ public final class GsonExposeAwareConverter {
         gsonBilder.excludeFieldsWithoutExposeAnnotation();
 
         gson = gsonBilder.create();
+        codec = new GsonCodec(gson);
     }
 
     public static Gson getGson() {
         return INSTANCE.gson;
     }
+
+    /**
+     * Gets the codec honoring the @Expose annotation. It is always backed by Gson, a codec registered for {@link GsonConverter} is not used here.
+     *
+     * @return JsonCodec the codec
+     */
+    public static JsonCodec getCodec() {
+        return INSTANCE.codec;
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.util.json;
+
+import java.lang.reflect.Type;
+
+/**
+ * Reads and writes JSON for the {@link org.primefaces.extensions.converter.JsonConverter} and other users of {@link GsonConverter}. The default
+ * implementation is backed by Gson, another implementation, e.g. for a faster streaming JSON library, can be registered via
+ * <code>META-INF/services/org.primefaces.extensions.util.json.JsonCodec</code>. Implementations must be thread-safe.
+ *
+ * @author agent / last modified by $Author$
+ * @version $Revision$
+ * @since 9.0
+ */
+public interface JsonCodec {
+
+    /**
+     * Reads an object of the given type.
+     *
+     * @param json the JSON string, may be null
+     * @param type the type to read
+     * @return Object the read object or null if the JSON string is null or empty
+     */
+    Object fromJson(String json, Type type);
+
+    /**
+     * Writes an object as JSON.
+     *
+     * @param value the object, may be null
+     * @param type the declared type of the object or null to use its runtime type
+     * @return String the JSON string
+     */
+    String toJson(Object value, Type type);
+}
@@ -95,6 +95,54 @@ PrimeFaces.widget.ExtFluidGrid = PrimeFaces.widget.DeferredWidget.extend({
         return this.cfg.behaviors ? this.cfg.behaviors[name] : null;
     },
 
+    /**
+     * Swaps an item which was replaced by an Ajax update. The new element takes over the position of the old one, the grid is only laid out again if
+     * the size of the item has changed.
+     * 
+     * @param {string}
+     *        id client id of the updated item
+     */
+    updateItem : function(id) {
+        var msnry = this.$container ? this.$container.data('masonry') : null;
+        var element = document.getElementById(id);
+        if (!msnry || !element) {
+            return;
+        }
+
+        var item = null;
+        for (var i = 0; i < msnry.items.length; i++) {
+            if (msnry.items[i].element.id === id) {
+                item = msnry.items[i];
+                break;
+            }
+        }
+
+        if (!item) {
+            // unknown item, e.g. rendered for the first time
+            this.reloadItems();
+            this.layout();
+            return;
+        }
+
+        var $this = this;
+        var swap = function() {
+            var oldSize = item.size;
+            element.style.cssText = item.element.style.cssText;
+            item.element = element;
+            item.getSize();
+
+            if (!oldSize || oldSize.outerWidth !== item.size.outerWidth || oldSize.outerHeight !== item.size.outerHeight) {
+                $this.layout();
+            }
+        };
+
+        if (this.cfg.opts.hasImages) {
+            $(element).imagesLoaded(swap);
+        } else {
+            swap();
+        }
+    },
+
     addItems : function(elements) {
         this.$container.masonry('addItems', elements);
     },
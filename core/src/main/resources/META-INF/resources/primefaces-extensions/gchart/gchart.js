@@ -10,19 +10,26 @@ PrimeFaces.widget.ExtGChart = PrimeFaces.widget.BaseWidget.extend({
         var that = this;
 
         this._super(cfg);
-        this.chart = cfg.chart ? JSON.parse(cfg.chart) : {
-            data : [],
-            options : {},
-            type : ""
-        };
-        this.data = this.chart.data;
-        this.type = this.chart.type
+        if (cfg.delta && this.dataTable) {
+            // incremental update: keep type, options and data table of the previous render
+            this.delta = typeof cfg.delta === "string" ? JSON.parse(cfg.delta) : cfg.delta;
+        } else {
+            this.delta = null;
+            this.dataTable = null;
+            this.chart = cfg.chart ? (typeof cfg.chart === "string" ? JSON.parse(cfg.chart) : cfg.chart) : {
+                data : [],
+                options : {},
+                type : ""
+            };
+            this.data = this.chart.data;
+            this.type = this.chart.type;
+            this.options = this.chart.options;
+        }
         this.height = cfg.height;
         this.width = cfg.width;
         this.title = cfg.title;
         this.apiKey = cfg.apiKey;
         this.language = cfg.language;
-        this.options = this.chart.options;
         this.input = jQuery(this.jqId + "_hidden");
 
         google.charts.load('current', {
@@ -52,7 +59,14 @@ PrimeFaces.widget.ExtGChart = PrimeFaces.widget.BaseWidget.extend({
 
     draw : function() {
 
-        var dataTable = google.visualization.arrayToDataTable(this.data);
+        if (this.delta) {
+            this.applyDelta(this.delta);
+            this.delta = null;
+        } else {
+            this.dataTable = google.visualization.arrayToDataTable(this.data);
+        }
+
+        var dataTable = this.dataTable;
 
         var that = this;
 
@@ -77,6 +91,23 @@ PrimeFaces.widget.ExtGChart = PrimeFaces.widget.BaseWidget.extend({
 
         this.wrapper.draw();
 
+    },
+
+    /**
+     * Applies the rows appended and the cells replaced on the server to the data table.
+     * 
+     * @param {object}
+     *        delta the changes, e.g. {rows:[["2021",5,7]],cells:[[0,1,3]]}
+     */
+    applyDelta : function(delta) {
+        if (delta.rows.length > 0) {
+            this.dataTable.addRows(delta.rows);
+        }
+
+        for (var i = 0; i < delta.cells.length; i++) {
+            var cell = delta.cells[i];
+            this.dataTable.setValue(cell[0], cell[1], cell[2]);
+        }
     }
 
 });
@@ -29,8 +29,20 @@ PrimeFaces.widget.ExtOrgChart = PrimeFaces.widget.BaseWidget.extend({
         var opts = $.extend(true, {}, cfg);
         opts['data'] = JSON.parse(opts['data']);
 
+        if (this.cfg.lazy) {
+            // the plugin only honors the relationship flags rendered by the server in ajax mode
+            opts['ajaxURL'] = { children: '' };
+        }
+
         this.orgchart = this.jq.orgchart(opts);
 
+        if (this.cfg.lazy) {
+            var $this = this;
+            this.orgchart.loadNodes = function (rel, url, $edge) {
+                $this._loadChildren($edge);
+            };
+        }
+
         this._bindEvents();
     },
 
@@ -50,25 +62,87 @@ PrimeFaces.widget.ExtOrgChart = PrimeFaces.widget.BaseWidget.extend({
                 }]
 
             };
+            if ($this.structureChanged) {
+                options.params.push({
+                    name: $this.id + '_structureChanged',
+                    value: true
+                });
+                $this.structureChanged = false;
+            }
             $this.callBehavior('click', options);
         });
 
-        this.jq.children('.orgchart').on('nodedropped.orgchart', function (event) {
-            var options = {
-                params: [{
-                    name: $this.id + '_draggedNodeId',
-                    value: event.draggedNode['context']['id']
-                }, {
-                    name: $this.id + '_droppedZoneId',
-                    value: event.dropZone['context']['id']
-                }, {
-                    name: $this.id + '_hierarchy',
-                    value: JSON.stringify($this.orgchart.getHierarchy())
-                }]
+        this.jq.children('.orgchart').on('nodedrop.orgchart', function (event, data) {
+            // the plugin moves the dragged node after triggering the event
+            setTimeout(function () {
+                if (event.isDefaultPrevented()) {
+                    return;
+                }
 
-            };
-            $this.callBehavior('drop', options);
+                if (!$this.hasBehavior('drop')) {
+                    $this.structureChanged = true;
+                    return;
+                }
+
+                var options = {
+                    params: [{
+                        name: $this.id + '_draggedNodeId',
+                        value: data.draggedNode[0].id
+                    }, {
+                        name: $this.id + '_dragZoneId',
+                        value: data.dragZone[0].id
+                    }, {
+                        name: $this.id + '_droppedZoneId',
+                        value: data.dropZone[0].id
+                    }, {
+                        name: $this.id + '_index',
+                        value: data.draggedNode.closest('table').parent().index()
+                    }]
 
+                };
+                $this.callBehavior('drop', options);
+            }, 0);
         });
+    },
+
+    /**
+     * Loads the children of a node of a lazy chart by Ajax and adds them to the chart. Nothing is processed, the chart only renders the children.
+     *
+     * @param {JQuery}
+     *        $edge The bottom edge of the expanded node.
+     * @private
+     */
+    _loadChildren: function ($edge) {
+        var $this = this;
+        var orgchart = this.orgchart;
+        var $node = $edge.parent();
+
+        var options = {
+            source: this.id,
+            process: '@none',
+            update: this.id,
+            params: [{
+                name: this.id + '_lazyNodeId',
+                value: $node[0].id
+            }],
+            onsuccess: function (responseXML, status, xhr) {
+                PrimeFaces.ajax.Response.handle(responseXML, status, xhr, {
+                    widget: $this,
+                    handle: function (content) {
+                        var children = JSON.parse(content);
+                        if (children.length && orgchart.$chart.data('inAjax')) {
+                            orgchart.addChildren($node, children);
+                        }
+                    }
+                });
+
+                return true;
+            },
+            oncomplete: function () {
+                orgchart.endLoading($edge);
+            }
+        };
+
+        PrimeFaces.ajax.Request.handle(options);
     }
 });
@@ -23,6 +23,7 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
         this.selectionInput = $(this.jqId + '_selection');
         this.sortByInput = $(this.jqId + '_sortby');
         this.sortOrderInput = $(this.jqId + '_sortorder');
+        this.versionInput = $(this.jqId + '_version');
         // need to track to avoid recursion
         this.focusing = false;
 
@@ -46,6 +47,12 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
 
     _render: function () {
         var $this = this;
+
+        // lazy sheets only contain the first window of rows, pad the rest
+        if ($this.cfg.lazy) {
+            $this._initLazy();
+        }
+
         var options = {
             data: $this.cfg.data,
             colHeaders: $this.cfg.colHeaders,
@@ -271,6 +278,10 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
         delete configuration["sortable"];
         delete configuration["styles"];
         delete configuration["rowStyles"];
+        delete configuration["lazy"];
+        delete configuration["diffUpdates"];
+        delete configuration["pageSize"];
+        delete configuration["totalRows"];
 
         // merge configuration into options
         $.extend(options, configuration);
@@ -289,13 +300,16 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
         // add before key down hook
         $this.ht.addHook('beforeKeyDown', $this.handleHotBeforeKeyDown);
 
-        // Check if data exist. If not insert No Records Found message
-        if (options.data.length === 0) {
-            var colspan = options.columns.length;
-            colspan++;
-            $this.tableDiv.find('.emptyRows').find('tbody').html("<tr><td colspan='" + colspan + "'>" + $this.cfg.emptyMessage + "</td></tr>")
+        // fetch missing windows of rows when scrolling a lazy sheet
+        if ($this.cfg.lazy) {
+            $this.ht.addHook('afterScrollVertically', function () {
+                $this._fetchVisibleRows();
+            });
         }
 
+        // Check if data exist. If not insert No Records Found message
+        $this._renderEmptyMessage();
+
         var selval = $this.selectionInput.val();
         if (selval && selval.length > 0) {
             var sel = JSON.parse(selval);
@@ -372,6 +386,220 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
         }
     },
 
+    /**
+     * Updates single cells of a row, other cells keep their value
+     *
+     * @param rowIndex the row index
+     * @param cells the changed data values keyed by column index
+     * @param styles the JSON cell style updates
+     * @param readOnlyCells the JSON cell read only updates
+     */
+    updateCells: function (rowIndex, cells, styles, readOnlyCells) {
+        $.extend(this.cfg.styles, styles);
+        $.extend(this.cfg.readOnlyCells, readOnlyCells);
+
+        var row = this.cfg.data[rowIndex];
+        if (row) {
+            for (var col in cells) {
+                row[col] = cells[col];
+            }
+        }
+    },
+
+    /**
+     * Updates the data version the client is in sync with
+     *
+     * @param version the data version
+     */
+    setVersion: function (version) {
+        this.versionInput.val(version);
+    },
+
+    /**
+     * Applies a sort or filter change. Rows are reordered by their row key, rows missing from the new order are removed and
+     * inserted rows are taken from the diff.
+     *
+     * @param version the new data version
+     * @param rowKeys the row keys in the new order
+     * @param inserted the rows the client did not have as [index, data, rowStyle, styles, readOnlyCells, rowHeader]
+     */
+    applyRowDiff: function (version, rowKeys, inserted) {
+        var cfg = this.cfg;
+        var customHeaders = $.isArray(cfg.rowHeaders);
+        var styles = this._groupCells(cfg.styles);
+        var readOnlyCells = this._groupCells(cfg.readOnlyCells);
+
+        // index the current rows by row key
+        var rows = {};
+        var i, row, col;
+        for (i = 0; i < cfg.rowKeys.length; i++) {
+            rows[cfg.rowKeys[i]] = {
+                data: cfg.data[i],
+                rowStyle: cfg.rowStyles[i],
+                styles: styles[i] || {},
+                readOnlyCells: readOnlyCells[i] || {},
+                rowHeader: customHeaders ? cfg.rowHeaders[i] : null
+            };
+        }
+        for (i = 0; i < inserted.length; i++) {
+            row = inserted[i];
+            rows[rowKeys[row[0]]] = {
+                data: row[1],
+                rowStyle: row[2],
+                styles: row[3],
+                readOnlyCells: row[4],
+                rowHeader: row[5]
+            };
+        }
+
+        // rebuild the arrays in place, handsontable keeps a reference to the data
+        var wasEmpty = cfg.data.length === 0;
+        cfg.data.length = 0;
+        cfg.rowStyles.length = 0;
+        if (customHeaders) {
+            cfg.rowHeaders.length = 0;
+        }
+        cfg.styles = {};
+        cfg.readOnlyCells = {};
+        for (i = 0; i < rowKeys.length; i++) {
+            row = rows[rowKeys[i]];
+            cfg.data.push(row.data);
+            cfg.rowStyles.push(row.rowStyle);
+            for (col in row.styles) {
+                cfg.styles['r' + i + '_c' + col] = row.styles[col];
+            }
+            for (col in row.readOnlyCells) {
+                cfg.readOnlyCells['r' + i + '_c' + col] = row.readOnlyCells[col];
+            }
+            if (customHeaders) {
+                cfg.rowHeaders.push(row.rowHeader);
+            }
+        }
+        cfg.rowKeys = rowKeys;
+        this.setVersion(version);
+
+        if (this.ht) {
+            if (customHeaders) {
+                this.ht.updateSettings({rowHeaders: cfg.rowHeaders});
+            }
+            if (wasEmpty) {
+                // remove the No Records Found row, handsontable would reuse it for the first data row
+                this.tableDiv.find('.emptyRows').find('tbody').empty();
+            }
+            this.ht.loadData(cfg.data);
+            this._renderEmptyMessage();
+        }
+    },
+
+    // inserts the No Records Found message if the sheet has no rows
+    _renderEmptyMessage: function () {
+        if (this.cfg.data.length === 0) {
+            var colspan = this.cfg.columns.length;
+            colspan++;
+            this.tableDiv.find('.emptyRows').find('tbody').html("<tr><td colspan='" + colspan + "'>" + this.cfg.emptyMessage + "</td></tr>");
+        }
+    },
+
+    // groups cell properties keyed by rXX_cYY into {row: {col: value}}
+    _groupCells: function (cells) {
+        var result = {};
+        for (var key in cells) {
+            var match = /^r(\d+)_c(\d+)$/.exec(key);
+            if (match) {
+                var row = result[match[1]] || (result[match[1]] = {});
+                row[match[2]] = cells[key];
+            }
+        }
+        return result;
+    },
+
+    /**
+     * Loads a window of rows fetched from the server into a lazy sheet.
+     *
+     * @param window the window containing the first row index, data, rowKeys and styles
+     */
+    loadRows: function (window) {
+        var cfg = this.cfg;
+        for (var i = 0; i < window.data.length; i++) {
+            var row = window.first + i;
+            cfg.data[row] = window.data[i];
+            cfg.rowKeys[row] = window.rowKeys[i];
+            cfg.rowStyles[row] = window.rowStyles[i];
+            if (window.rowHeaders) {
+                cfg.rowHeaders[row] = window.rowHeaders[i];
+            }
+        }
+        $.extend(cfg.styles, window.styles);
+        $.extend(cfg.readOnlyCells, window.readOnlyCells);
+
+        if (this.ht) {
+            if (window.rowHeaders) {
+                this.ht.updateSettings({rowHeaders: cfg.rowHeaders});
+            }
+            this.ht.render();
+        }
+    },
+
+    // pad the first window of a lazy sheet up to the total row count
+    _initLazy: function () {
+        var cfg = this.cfg;
+        var customHeaders = $.isArray(cfg.rowHeaders);
+        for (var i = cfg.data.length; i < cfg.totalRows; i++) {
+            cfg.data.push([]);
+            cfg.rowKeys.push(null);
+            if (customHeaders) {
+                cfg.rowHeaders.push('');
+            }
+        }
+        this.lazyWindows = {0: true};
+    },
+
+    // request all windows of rows overlapping the viewport that have not been loaded yet
+    _fetchVisibleRows: function () {
+        var wtTable = this.ht.view.wt.wtTable;
+        var firstRow = wtTable.getFirstVisibleRow();
+        var lastRow = wtTable.getLastVisibleRow();
+        if (firstRow < 0 || lastRow < 0) {
+            return;
+        }
+
+        var pageSize = this.cfg.pageSize;
+        for (var w = Math.floor(firstRow / pageSize); w <= Math.floor(lastRow / pageSize); w++) {
+            if (!this.lazyWindows[w]) {
+                this.lazyWindows[w] = true;
+                this._fetchRows(w * pageSize);
+            }
+        }
+    },
+
+    // request a window of rows, the response calls loadRows. pending cell
+    // edits are not submitted, the sheet is only rendered for the window
+    _fetchRows: function (first) {
+        var $this = this;
+        var options = {
+            source: this.id,
+            process: '@none',
+            update: this.id,
+            global: false,
+            params: [{
+                name: this.id + '_window',
+                value: first
+            }],
+            onsuccess: function (responseXML, status, xhr) {
+                PrimeFaces.ajax.Response.handle(responseXML, status, xhr, {
+                    widget: $this,
+                    handle: function (content) {
+                        // the rows arrive in the loadRows script, the sheet markup is kept
+                    }
+                });
+
+                return true;
+            }
+        };
+
+        PrimeFaces.ajax.AjaxRequest(options);
+    },
+
     // fired when a filter input is edited. firenow indicates the filter
     // event should be fired immediately (select)
     filterchange: function (sheet, col, v, firenow) {
@@ -399,7 +627,7 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
         sheet.ht.destroyEditor(true);
         sheet.ht.deselectCell();
 
-        sheet.callBehavior('sort');
+        sheet.callBehavior('sort', sheet._rowDiffExt());
     },
 
     // eat enter keys for filter inputs so they do not submit form
@@ -484,10 +712,29 @@ PrimeFaces.widget.ExtSheet = PrimeFaces.widget.DeferredWidget.extend({
     filter: function () {
         if (this.filterChanged && this.hasBehavior('filter')) {
             this.filterChanged = false;
-            this.callBehavior('filter');
+            this.callBehavior('filter', this._rowDiffExt());
         }
     },
 
+    // with diff updates the sheet is answered by an applyRowDiff script, its own update is ignored
+    _rowDiffExt: function () {
+        if (!this.cfg.diffUpdates) {
+            return undefined;
+        }
+        var $this = this;
+        return {
+            onsuccess: function (responseXML, status, xhr) {
+                PrimeFaces.ajax.Response.handle(responseXML, status, xhr, {
+                    widget: $this,
+                    handle: function (content) {
+                        // the rows are applied by the eval script
+                    }
+                });
+                return true;
+            }
+        };
+    },
+
     // Remove the row from the sheet
     removeRow: function (index) {
         if (this.ht) {
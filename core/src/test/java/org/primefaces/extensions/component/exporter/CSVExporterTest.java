@@ -0,0 +1,90 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * <code>CSVExporter</code> field quoting.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class CSVExporterTest {
+
+    private static String field(final String quoting, final String value, final String separator) throws IOException {
+        final CSVExporter exporter = new CSVExporter();
+        exporter.setQuoting(quoting);
+        final StringWriter writer = new StringWriter();
+        exporter.writeField(writer, value, separator);
+        return writer.toString();
+    }
+
+    @Test
+    public void testMinimalQuotingPlainField() throws IOException {
+        assertEquals("abc", field("minimal", "abc", ","));
+        assertEquals("", field("minimal", "", ","));
+        assertEquals("", field("minimal", null, ","));
+    }
+
+    @Test
+    public void testMinimalQuotingSpecialCharacters() throws IOException {
+        assertEquals("\"a,b\"", field("minimal", "a,b", ","));
+        assertEquals("\"a\nb\"", field("minimal", "a\nb", ","));
+        assertEquals("\"a\rb\"", field("minimal", "a\rb", ","));
+        // only the configured separator requires quotes
+        assertEquals("a,b", field("minimal", "a,b", ";"));
+        assertEquals("\"a;b\"", field("minimal", "a;b", ";"));
+    }
+
+    @Test
+    public void testQuotesAreDoubled() throws IOException {
+        assertEquals("\"say \"\"hi\"\"\"", field("minimal", "say \"hi\"", ","));
+        assertEquals("\"\"\"\"", field("minimal", "\"", ","));
+        assertEquals("\"\"\"\"\"\"", field("minimal", "\"\"", ","));
+        assertEquals("\"a\"\"\"", field("all", "a\"", ","));
+    }
+
+    @Test
+    public void testAllQuoting() throws IOException {
+        assertEquals("\"abc\"", field("all", "abc", ","));
+        assertEquals("\"\"", field("all", null, ","));
+        assertEquals("\"a,b\"", field("ALL", "a,b", ","));
+    }
+
+    @Test
+    public void testNoQuoting() throws IOException {
+        assertEquals("a,b", field("none", "a,b", ","));
+        assertEquals("say \"hi\"", field("none", "say \"hi\"", ","));
+    }
+
+    @Test
+    public void testWriteRow() throws IOException {
+        final CSVExporter exporter = new CSVExporter();
+        exporter.setDelimiter(";");
+        final StringWriter writer = new StringWriter();
+
+        exporter.writeRow(writer, Arrays.asList("a", "b;c", null));
+
+        assertEquals("a;\"b;c\";\r\n", writer.toString());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import javax.el.ELResolver;
+import javax.el.PropertyNotWritableException;
+
+import org.junit.Test;
+
+/**
+ * <code>ExportELContext</code> resolution of row variables and properties.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class ExportELContextTest {
+
+    @Test
+    public void testResolvesVariable() {
+        final ExportELContext context = new ExportELContext();
+        context.setVariable("row", "value");
+
+        assertEquals("value", context.getELResolver().getValue(context, null, "row"));
+        assertTrue(context.isPropertyResolved());
+    }
+
+    @Test
+    public void testUnknownVariableIsNotResolved() {
+        final ExportELContext context = new ExportELContext();
+
+        assertNull(context.getELResolver().getValue(context, null, "bean"));
+        assertFalse(context.isPropertyResolved());
+    }
+
+    @Test
+    public void testResolvesPropertiesOfRows() {
+        final ExportELContext context = new ExportELContext();
+        final ELResolver resolver = context.getELResolver();
+
+        assertEquals("v", resolver.getValue(context, Collections.singletonMap("k", "v"), "k"));
+        context.setPropertyResolved(false);
+        assertEquals("Ann", resolver.getValue(context, new Person("Ann"), "name"));
+    }
+
+    @Test(expected = PropertyNotWritableException.class)
+    public void testRowsAreReadOnly() {
+        final ExportELContext context = new ExportELContext();
+
+        context.getELResolver().setValue(context, Collections.singletonMap("k", "v"), "k", "w");
+    }
+
+    /**
+     * Row bean.
+     */
+    public static final class Person {
+
+        private final String name;
+
+        public Person(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
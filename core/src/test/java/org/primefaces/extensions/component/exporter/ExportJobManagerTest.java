@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.faces.FacesException;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * <code>ExportJobManager</code> queueing and expiry.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class ExportJobManagerTest {
+
+    private ExportJobManager manager;
+
+    @After
+    public void after() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectsJobsWhenQueueIsFull() throws InterruptedException {
+        manager = new ExportJobManager(1, 1, 60000);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final BlockingJob running = new BlockingJob(started, release);
+        final BlockingJob queued = new BlockingJob(new CountDownLatch(1), release);
+        final BlockingJob rejected = new BlockingJob(new CountDownLatch(1), release);
+
+        manager.submit(running);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        manager.submit(queued);
+        try {
+            manager.submit(rejected);
+            fail("the third job must be rejected");
+        }
+        catch (final FacesException e) {
+            // expected
+        }
+        finally {
+            release.countDown();
+        }
+
+        assertNotNull(manager.getJob(running.getId()));
+        assertNotNull(manager.getJob(queued.getId()));
+        assertNull(manager.getJob(rejected.getId()));
+    }
+
+    @Test
+    public void testPurgesExpiredJobs() throws InterruptedException {
+        manager = new ExportJobManager(1, 1, 0);
+        final ExportJob job = ExportJobTest.newJob("s1", Arrays.asList(1, 2), null, 0);
+
+        manager.submit(job);
+        // the time to live of 0 ms has passed once the job finished and the clock moved on
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (!job.isExpired(System.currentTimeMillis(), 0) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(ExportJob.Status.DONE, job.getStatus());
+
+        manager.purgeExpiredJobs();
+
+        assertNull(manager.getJob(job.getId()));
+    }
+
+    @Test
+    public void testKeepsUnexpiredJobs() throws InterruptedException {
+        manager = new ExportJobManager(1, 1, 60000);
+        final ExportJob job = ExportJobTest.newJob("s1", Arrays.asList(1, 2), null, 0);
+
+        manager.submit(job);
+        manager.purgeExpiredJobs();
+
+        assertNotNull(manager.getJob(job.getId()));
+        assertNull(manager.getJob(null));
+    }
+
+    /**
+     * Job blocking its thread until released.
+     */
+    private static final class BlockingJob extends ExportJob {
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+        BlockingJob(final CountDownLatch started, final CountDownLatch release) {
+            super("s1", new CSVExporter(), "export", null, null, null, null, null, null, null, null, null, null, 0);
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
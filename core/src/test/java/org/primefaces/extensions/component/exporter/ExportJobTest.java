@@ -0,0 +1,195 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+
+/**
+ * <code>ExportJob</code> runs and progress.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class ExportJobTest {
+
+    static ExportJob newJob(final String sessionId, final List<?> rows, final LazyDataModel<?> lazyModel, final int chunkSize) {
+        final ExportJob.ExportColumn column = new ExportJob.ExportColumn();
+        column.addText("x");
+        return new ExportJob(sessionId, new CSVExporter(), "export", StandardCharsets.UTF_8, null, Arrays.asList("col"), null,
+                    Collections.singletonList(column), "row", rows, lazyModel, Collections.<String, SortMeta> emptyMap(),
+                    Collections.<String, FilterMeta> emptyMap(), chunkSize);
+    }
+
+    @Test
+    public void testProgressOfQueuedJob() {
+        final ExportJob job = newJob("s1", Arrays.asList(1, 2, 3), null, 0);
+
+        assertEquals(ExportJob.Status.QUEUED, job.getStatus());
+        assertEquals("{\"status\":\"QUEUED\",\"rowsDone\":0,\"rowCount\":3}", job.toJson());
+    }
+
+    @Test
+    public void testRun() {
+        final ExportJob job = newJob("s1", Arrays.asList(1, 2, 3), null, 0);
+        try {
+            job.run();
+
+            assertEquals(ExportJob.Status.DONE, job.getStatus());
+            assertEquals(3, job.getRowsDone());
+            assertEquals("{\"status\":\"DONE\",\"rowsDone\":3,\"rowCount\":3}", job.toJson());
+        }
+        finally {
+            job.deleteFile();
+        }
+    }
+
+    @Test
+    public void testRowCountOfLazyJobIsUnknownUntilLoaded() {
+        final ExportJob job = newJob("s1", null, new CountingLazyModel(10, true), 0);
+
+        assertEquals(-1, job.getRowCount());
+    }
+
+    @Test
+    public void testLazyJobLoadsBoundedChunksWithoutChunkSize() {
+        final CountingLazyModel model = new CountingLazyModel(2 * ExportJob.DEFAULT_CHUNK_SIZE + 500, true);
+        final ExportJob job = newJob("s1", null, model, 0);
+        try {
+            job.run();
+
+            assertEquals(ExportJob.Status.DONE, job.getStatus());
+            assertEquals(2 * ExportJob.DEFAULT_CHUNK_SIZE + 500, job.getRowsDone());
+            assertEquals(Arrays.asList(ExportJob.DEFAULT_CHUNK_SIZE, ExportJob.DEFAULT_CHUNK_SIZE, ExportJob.DEFAULT_CHUNK_SIZE), model.pageSizes);
+        }
+        finally {
+            job.deleteFile();
+        }
+    }
+
+    @Test
+    public void testLazyJobUsesChunkSize() {
+        final CountingLazyModel model = new CountingLazyModel(25, true);
+        final ExportJob job = newJob("s1", null, model, 10);
+        try {
+            job.run();
+
+            assertEquals(25, job.getRowsDone());
+            assertEquals(Arrays.asList(10, 10, 10), model.pageSizes);
+        }
+        finally {
+            job.deleteFile();
+        }
+    }
+
+    @Test
+    public void testLazyJobWithoutRowCountReadsUntilShortPage() {
+        final CountingLazyModel model = new CountingLazyModel(25, false);
+        final ExportJob job = newJob("s1", null, model, 10);
+        try {
+            job.run();
+
+            assertEquals(ExportJob.Status.DONE, job.getStatus());
+            assertEquals(25, job.getRowsDone());
+        }
+        finally {
+            job.deleteFile();
+        }
+    }
+
+    @Test
+    public void testFailedJob() {
+        final ExportJob job = newJob("s1", null, new CountingLazyModel(-1, true), 0);
+        job.run();
+
+        assertEquals(ExportJob.Status.FAILED, job.getStatus());
+        assertEquals("{\"status\":\"FAILED\",\"rowsDone\":0,\"rowCount\":-1}", job.toJson());
+    }
+
+    @Test
+    public void testIsOwnedBy() {
+        final ExportJob job = newJob("s1", Collections.emptyList(), null, 0);
+
+        assertTrue(job.isOwnedBy("s1"));
+        assertFalse(job.isOwnedBy("s2"));
+        assertFalse(job.isOwnedBy(null));
+        assertFalse(newJob(null, Collections.emptyList(), null, 0).isOwnedBy(null));
+    }
+
+    @Test
+    public void testIsExpired() {
+        final ExportJob job = newJob("s1", Collections.emptyList(), null, 0);
+        final long now = System.currentTimeMillis();
+
+        // not finished yet
+        assertFalse(job.isExpired(now + 60000, 1000));
+
+        job.run();
+        job.deleteFile();
+
+        final long finished = System.currentTimeMillis();
+        assertFalse(job.isExpired(finished, 1000));
+        assertTrue(job.isExpired(finished + 60000, 1000));
+    }
+
+    /**
+     * Lazy model serving the numbers 0..size-1 and recording the requested page sizes, fails for a negative size.
+     */
+    static final class CountingLazyModel extends LazyDataModel<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int size;
+
+        private final boolean countRows;
+
+        private final List<Integer> pageSizes = new ArrayList<>();
+
+        CountingLazyModel(final int size, final boolean countRows) {
+            this.size = size;
+            this.countRows = countRows;
+        }
+
+        @Override
+        public List<Integer> load(final int first, final int pageSize, final Map<String, SortMeta> sortBy, final Map<String, FilterMeta> filterBy) {
+            if (size < 0) {
+                throw new IllegalStateException("load failed");
+            }
+            pageSizes.add(pageSize);
+            if (countRows) {
+                setRowCount(size);
+            }
+            final List<Integer> page = new ArrayList<>();
+            for (int i = first; i < Math.min(size, first + pageSize); i++) {
+                page.add(i);
+            }
+            return page;
+        }
+    }
+}
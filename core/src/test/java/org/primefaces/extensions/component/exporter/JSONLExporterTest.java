@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.exporter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * <code>JSONLExporter</code> row keys.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class JSONLExporterTest {
+
+    @Test
+    public void testKeysFromHeaders() throws IOException {
+        final JSONLExporter exporter = new JSONLExporter();
+        final StringWriter writer = new StringWriter();
+
+        exporter.startTable(writer, null, Arrays.asList("Name", "", "Age"));
+        exporter.writeRow(writer, Arrays.asList("Ann", "x", "42"));
+
+        assertEquals("{\"Name\":\"Ann\",\"column2\":\"x\",\"Age\":\"42\"}\n", writer.toString());
+    }
+
+    @Test
+    public void testDuplicateHeadersGetUniqueKeys() throws IOException {
+        final JSONLExporter exporter = new JSONLExporter();
+        final StringWriter writer = new StringWriter();
+
+        exporter.startTable(writer, null, Arrays.asList("Name", "Name", " ", "column3", "Name_2"));
+
+        assertEquals(Arrays.asList("Name", "Name_2", "column3", "column3_2", "Name_2_2"), exporter.getKeys());
+    }
+
+    @Test
+    public void testMoreValuesThanHeaders() throws IOException {
+        final JSONLExporter exporter = new JSONLExporter();
+        final StringWriter writer = new StringWriter();
+
+        exporter.startTable(writer, null, Arrays.asList("column2"));
+        exporter.writeRow(writer, Arrays.asList("a", "b"));
+
+        assertEquals("{\"column2\":\"a\",\"column2_2\":\"b\"}\n", writer.toString());
+    }
+
+    @Test
+    public void testKeysAreResetPerTable() throws IOException {
+        final JSONLExporter exporter = new JSONLExporter();
+        final StringWriter writer = new StringWriter();
+
+        exporter.startTable(writer, null, Arrays.asList("A", "A"));
+        exporter.startTable(writer, null, Arrays.asList("A", "B"));
+
+        assertEquals(Arrays.asList("A", "B"), exporter.getKeys());
+    }
+}
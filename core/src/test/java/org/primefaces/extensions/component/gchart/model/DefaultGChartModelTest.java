@@ -0,0 +1,154 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.gchart.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Change tracking of the <code>gChart</code> model for incremental updates.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class DefaultGChartModelTest {
+
+    private Map<String, Object> options;
+    private List<Object> columns;
+    private DefaultGChartModel model;
+
+    @Before
+    public void setup() {
+        options = new LinkedHashMap<>();
+        options.put("title", "Sales");
+        columns = new ArrayList<>(Arrays.asList("Year", "A", "B"));
+
+        final List<GChartModelRow> rows = new ArrayList<>();
+        rows.add(new DefaultGChartModelRow("2019", Arrays.asList(1, 2)));
+        rows.add(new DefaultGChartModelRow("2020", Arrays.asList(3, 4)));
+
+        model = new DefaultGChartModel(rows, GChartType.COLUMN, options, columns);
+    }
+
+    @Test
+    public void testNoDeltaBeforeRender() {
+        model.appendRow("2021", Arrays.asList(5, 6));
+
+        assertNull(model.toJsonDelta());
+    }
+
+    @Test
+    public void testEmptyDelta() {
+        model.resetChanges();
+
+        assertEquals("{\"rows\":[],\"cells\":[]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testAppendedRows() {
+        model.resetChanges();
+        model.appendRow("2021", Arrays.asList(5, 6));
+        model.appendRow("2022", Arrays.asList(7, null));
+
+        assertEquals("{\"rows\":[[\"2021\",5,6],[\"2022\",7,null]],\"cells\":[]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testReplacedRowSendsChangedCellsOnly() {
+        model.resetChanges();
+        model.replaceRow(1, "2020", Arrays.asList(3, 8));
+
+        assertEquals("{\"rows\":[],\"cells\":[[1,2,8]]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testReplacedRowWithNewLabelAndFewerValues() {
+        model.resetChanges();
+        model.replaceRow(0, "2018", Arrays.asList(1));
+
+        assertEquals("{\"rows\":[],\"cells\":[[0,0,\"2018\"],[0,2,null]]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testReplacedRowWithMoreValues() {
+        model.resetChanges();
+        model.replaceRow(0, "2019", Arrays.asList(1, 2, 9));
+
+        assertEquals("{\"rows\":[],\"cells\":[[0,3,9]]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testReplacedRowsAccumulate() {
+        model.resetChanges();
+        model.replaceRow(0, "2019", Arrays.asList(5, 2));
+        model.replaceRow(0, "2019", Arrays.asList(5, 6));
+        model.replaceRow(1, "2020", Arrays.asList(7, 4));
+
+        assertEquals("{\"rows\":[],\"cells\":[[0,1,5],[0,2,6],[1,1,7]]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testReplacedAppendedRowIsSentAsRow() {
+        model.resetChanges();
+        model.appendRow("2021", Arrays.asList(5, 6));
+        model.replaceRow(2, "2021", Arrays.asList(5, 9));
+
+        assertEquals("{\"rows\":[[\"2021\",5,9]],\"cells\":[]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testResetChanges() {
+        model.resetChanges();
+        model.appendRow("2021", Arrays.asList(5, 6));
+        model.replaceRow(0, "2019", Arrays.asList(1, 9));
+        model.resetChanges();
+
+        assertEquals("{\"rows\":[],\"cells\":[]}", model.toJsonDelta());
+    }
+
+    @Test
+    public void testNoDeltaAfterRemovedRow() {
+        model.resetChanges();
+        model.getRows().remove(model.getRows().iterator().next());
+
+        assertNull(model.toJsonDelta());
+    }
+
+    @Test
+    public void testNoDeltaAfterChangedOptions() {
+        model.resetChanges();
+        options.put("title", "Revenue");
+
+        assertNull(model.toJsonDelta());
+    }
+
+    @Test
+    public void testNoDeltaAfterChangedColumns() {
+        model.resetChanges();
+        columns.add("C");
+
+        assertNull(model.toJsonDelta());
+    }
+}
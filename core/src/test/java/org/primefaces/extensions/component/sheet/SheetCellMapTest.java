@@ -0,0 +1,199 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.primefaces.extensions.model.sheet.SheetRowColIndex;
+
+/**
+ * <code>sheet</code> cell map.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class SheetCellMapTest {
+
+    @Test
+    public void testPutGetReplace() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+
+        assertNull(map.put("r1", 0, "a"));
+        assertNull(map.put("r1", 1, "b"));
+        assertNull(map.put("r2", 0, "c"));
+        assertEquals("a", map.put("r1", 0, "d"));
+
+        assertEquals(3, map.size());
+        assertEquals("d", map.get("r1", 0));
+        assertEquals("b", map.get("r1", 1));
+        assertEquals("c", map.get("r2", 0));
+        assertNull(map.get("r2", 1));
+        assertNull(map.get("r3", 0));
+        assertTrue(map.containsKey("r1", 1));
+        assertFalse(map.containsKey("r3", 1));
+    }
+
+    @Test
+    public void testNullValue() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+        map.put("r1", 0, null);
+
+        assertTrue(map.containsKey("r1", 0));
+        assertNull(map.get("r1", 0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testKeysGroupedByRow() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+        map.put("b", 2, "b2");
+        map.put("a", 1, "a1");
+        map.put("b", 0, "b0");
+        map.put("a", 0, "a0");
+
+        final long[] keys = map.keys();
+
+        assertEquals(4, keys.length);
+        assertEquals("b", map.getRowKey(keys[0]));
+        assertEquals(0, SheetCellMap.getColIndex(keys[0]));
+        assertEquals("b", map.getRowKey(keys[1]));
+        assertEquals(2, SheetCellMap.getColIndex(keys[1]));
+        assertEquals("a", map.getRowKey(keys[2]));
+        assertEquals(0, SheetCellMap.getColIndex(keys[2]));
+        assertEquals("a", map.getRowKey(keys[3]));
+        assertEquals(SheetCellMap.getRowOrdinal(keys[2]), SheetCellMap.getRowOrdinal(keys[3]));
+    }
+
+    @Test
+    public void testResize() {
+        final SheetCellMap<Integer> map = new SheetCellMap<>();
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 10; col++) {
+                map.put("r" + row, col, row * 10 + col);
+            }
+        }
+
+        assertEquals(1000, map.size());
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 10; col++) {
+                assertEquals(Integer.valueOf(row * 10 + col), map.get("r" + row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsProbeSequences() {
+        // random removals from a dense table hit removals in the middle of probe sequences, the backshift must keep every other cell reachable
+        final Random random = new Random(42);
+        final SheetCellMap<Integer> map = new SheetCellMap<>();
+        final Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            final String rowKey = "r" + random.nextInt(50);
+            final int col = random.nextInt(20);
+            final String key = rowKey + "/" + col;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(rowKey, col));
+            }
+            else {
+                assertEquals(expected.put(key, i), map.put(rowKey, col, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int row = 0; row < 50; row++) {
+            for (int col = 0; col < 20; col++) {
+                final String key = "r" + row + "/" + col;
+                assertEquals(expected.containsKey(key), map.containsKey("r" + row, col));
+                assertEquals(expected.get(key), map.get("r" + row, col));
+            }
+        }
+        assertEquals(expected.size(), map.keys().length);
+    }
+
+    @Test
+    public void testRemoveWhileIteratingKeys() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+        map.put("r1", 0, "a");
+        map.put("r1", 1, "b");
+        map.put("r2", 0, "c");
+
+        int removed = 0;
+        for (final long key : map.keys()) {
+            assertTrue(map.remove(key) != null);
+            removed++;
+        }
+
+        assertEquals(3, removed);
+        assertTrue(map.isEmpty());
+        assertNull(map.remove("r1", 0));
+    }
+
+    @Test
+    public void testClear() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("r" + i, 0, "v" + i);
+        }
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().length);
+        assertFalse(map.containsKey("r1", 0));
+
+        map.put("x", 3, "y");
+        assertEquals(1, map.size());
+        assertEquals("x", map.getRowKey(map.keys()[0]));
+        assertEquals(0, SheetCellMap.getRowOrdinal(map.keys()[0]));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        final SheetCellMap<String> map = new SheetCellMap<>();
+        map.put("r1", 0, "a");
+
+        final SheetCellMap<String> copy = new SheetCellMap<>(map);
+        copy.put("r1", 0, "b");
+        copy.put("r2", 0, "c");
+
+        assertEquals("a", map.get("r1", 0));
+        assertFalse(map.containsKey("r2", 0));
+        assertEquals("b", copy.get("r1", 0));
+        assertEquals("c", copy.get("r2", 0));
+    }
+
+    @Test
+    public void testMapConversion() {
+        final Map<SheetRowColIndex, String> values = new HashMap<>();
+        values.put(new SheetRowColIndex("r1", 0), "a");
+        values.put(new SheetRowColIndex("r2", 3), "b");
+
+        final SheetCellMap<String> map = SheetCellMap.of(values);
+
+        assertEquals(2, map.size());
+        assertEquals("a", map.get("r1", 0));
+        assertEquals("b", map.get("r2", 3));
+        assertEquals(values, map.toMap());
+    }
+}
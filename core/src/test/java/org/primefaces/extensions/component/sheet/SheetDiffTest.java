@@ -0,0 +1,99 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.component.sheet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * <code>sheet</code> cell and row diffs.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class SheetDiffTest {
+
+    @Test
+    public void testUnchangedCell() {
+        final String[] rendered = {"a", null, "c"};
+
+        assertFalse(SheetDiff.isCellChanged(rendered, 0, "a"));
+        assertFalse(SheetDiff.isCellChanged(rendered, 1, null));
+        assertFalse(SheetDiff.isCellChanged(rendered, 2, new String("c")));
+    }
+
+    @Test
+    public void testChangedCell() {
+        final String[] rendered = {"a", null};
+
+        assertTrue(SheetDiff.isCellChanged(rendered, 0, "b"));
+        assertTrue(SheetDiff.isCellChanged(rendered, 0, null));
+        assertTrue(SheetDiff.isCellChanged(rendered, 1, ""));
+    }
+
+    @Test
+    public void testChangedCellWithSameHash() {
+        // "Aa" and "BB" have the same String hash code
+        final String[] rendered = {"Aa"};
+
+        assertTrue(SheetDiff.isCellChanged(rendered, 0, "BB"));
+    }
+
+    @Test
+    public void testUnknownRowIsChanged() {
+        assertTrue(SheetDiff.isCellChanged(null, 0, "a"));
+    }
+
+    @Test
+    public void testSortInsertsNothing() {
+        final Set<String> clientRows = new HashSet<>(Arrays.asList("1", "2", "3"));
+
+        assertEquals(Collections.emptyList(), SheetDiff.getInsertedRows(Arrays.asList("3", "1", "2"), clientRows));
+    }
+
+    @Test
+    public void testNarrowingFilterInsertsNothing() {
+        final Set<String> clientRows = new HashSet<>(Arrays.asList("1", "2", "3"));
+
+        assertEquals(Collections.emptyList(), SheetDiff.getInsertedRows(Arrays.asList("2"), clientRows));
+        assertEquals(Collections.emptyList(), SheetDiff.getInsertedRows(Collections.<String> emptyList(), clientRows));
+    }
+
+    @Test
+    public void testWideningFilterInsertsMissingRows() {
+        final Set<String> clientRows = new HashSet<>(Arrays.asList("2"));
+
+        final List<Integer> inserted = SheetDiff.getInsertedRows(Arrays.asList("1", "2", "3"), clientRows);
+
+        assertEquals(Arrays.asList(0, 2), inserted);
+    }
+
+    @Test
+    public void testOutdatedClientGetsAllRows() {
+        final List<Integer> inserted = SheetDiff.getInsertedRows(Arrays.asList("1", "2", "3"), Collections.<String> emptySet());
+
+        assertEquals(Arrays.asList(0, 1, 2), inserted);
+    }
+}
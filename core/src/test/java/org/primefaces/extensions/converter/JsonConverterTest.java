@@ -16,6 +16,8 @@
 package org.primefaces.extensions.converter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.*;
@@ -264,4 +266,21 @@ public class JsonConverterTest {
         final Object obj = jsonConverter.getAsObject(null, null, json);
         assertEquals(fooGenericOuter, obj);
     }
+
+    @Test
+    public void testTypeCache() {
+        final String type = "java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>";
+
+        final java.lang.reflect.Type cachedType = jsonConverter.getCachedObjectType(type);
+        assertSame(cachedType, jsonConverter.getCachedObjectType(type));
+        assertEquals(jsonConverter.getObjectType(type, false), cachedType);
+    }
+
+    @Test
+    public void testEmptyJson() {
+        jsonConverter.setType("java.lang.Integer");
+
+        assertNull(jsonConverter.getAsObject(null, null, null));
+        assertNull(jsonConverter.getAsObject(null, null, ""));
+    }
 }
@@ -16,7 +16,9 @@
 package org.primefaces.extensions.orgchart;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,7 @@ import java.util.Map;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.primefaces.extensions.component.orgchart.DefaultOrgChartDataProvider;
 import org.primefaces.extensions.component.orgchart.DefaultOrgChartNode;
 import org.primefaces.extensions.component.orgchart.OrgChartHelper;
 import org.primefaces.extensions.component.orgchart.OrgChartNode;
@@ -226,4 +229,76 @@ public class OrgChartHelperTest {
         assertEquals("id2", chartNode.getChildren().get(0).getId());
         assertEquals("id3", chartNode.getChildren().get(0).getChildren().get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMoveNode() {
+        final OrgChartNode child1 = new DefaultOrgChartNode("id1", "name1", "title1");
+        final OrgChartNode child2 = new DefaultOrgChartNode("id2", "name2", "title2");
+        final OrgChartNode grandChild1 = new DefaultOrgChartNode("id3", "name3", "title3");
+        final OrgChartNode grandChild2 = new DefaultOrgChartNode("id4", "name4", "title4");
+
+        root.addChild(child1);
+        root.addChild(child2);
+        child1.addChild(grandChild1);
+        child2.addChild(grandChild2);
+        child1.setParent(root);
+        child2.setParent(root);
+        grandChild1.setParent(child1);
+        grandChild2.setParent(child2);
+
+        assertEquals(true, OrgChartHelper.moveNode(grandChild1, child1, child2, 0));
+        assertEquals(0, child1.getChildCount());
+        assertEquals(2, child2.getChildCount());
+        assertEquals(grandChild1, child2.getChildren().get(0));
+        assertEquals(child2, grandChild1.getParent());
+
+        // not a child of the old parent
+        assertFalse(OrgChartHelper.moveNode(grandChild2, child1, root, 0));
+        // into its own subtree
+        assertFalse(OrgChartHelper.moveNode(child2, root, grandChild1, 0));
+        assertEquals(2, root.getChildCount());
+    }
+
+    @Test
+    public void testMoveNodeIntoOwnSubtreeBuiltWithAddChild() {
+        final OrgChartNode child = new DefaultOrgChartNode("id1", "name1", "title1");
+        final OrgChartNode grandChild = new DefaultOrgChartNode("id2", "name2", "title2");
+        final OrgChartNode greatGrandChild = new DefaultOrgChartNode("id3", "name3", "title3");
+
+        root.addChild(child);
+        child.addChild(grandChild);
+        grandChild.addChild(greatGrandChild);
+
+        assertEquals(root, child.getParent());
+        assertEquals(grandChild, greatGrandChild.getParent());
+
+        assertFalse(OrgChartHelper.moveNode(child, root, greatGrandChild, 0));
+        assertFalse(OrgChartHelper.moveNode(child, root, child, 0));
+        assertEquals(1, root.getChildCount());
+        assertEquals(1, grandChild.getChildCount());
+        assertEquals(root, child.getParent());
+    }
+
+    @Test
+    public void testDefaultDataProviderMoveNode() {
+        final OrgChartNode child1 = new DefaultOrgChartNode("id1", "name1", "title1");
+        final OrgChartNode child2 = new DefaultOrgChartNode("id2", "name2", "title2");
+        root.addChild(child1);
+        root.addChild(child2);
+
+        final DefaultOrgChartDataProvider dataProvider = new DefaultOrgChartDataProvider(root);
+        assertEquals(child1, dataProvider.getNode("id1"));
+
+        // added after the index was built
+        final OrgChartNode grandChild = new DefaultOrgChartNode("id3", "name3", "title3");
+        assertNull(dataProvider.getNode("id3"));
+        child2.addChild(grandChild);
+        dataProvider.reindex();
+
+        assertEquals(true, dataProvider.moveNode(grandChild, child2, child1, 0));
+        assertEquals(child1, grandChild.getParent());
+        assertEquals(grandChild, dataProvider.getNode("id3"));
+        assertEquals(child1, dataProvider.getNode("id1"));
+        assertFalse(dataProvider.moveNode(child1, root, grandChild, 0));
+    }
+}
@@ -16,13 +16,17 @@
 package org.primefaces.extensions.orgchart;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.primefaces.extensions.component.orgchart.DefaultOrgChartDataProvider;
 import org.primefaces.extensions.component.orgchart.DefaultOrgChartNode;
 import org.primefaces.extensions.component.orgchart.OrgChartNode;
 import org.primefaces.extensions.component.orgchart.OrgChartRenderer;
+import org.primefaces.shaded.json.JSONArray;
+import org.primefaces.shaded.json.JSONObject;
 
 /**
  * <code>orgchart</code> component.
@@ -76,4 +80,19 @@ public class OrgChartRendererTest {
         assertEquals(root, root.getChildren().get(0).getParent());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testLazyJSON() {
+        final OrgChartNode grandChild = new DefaultOrgChartNode("grand child", "grand child");
+        root.getChildren().get(0).addChild(grandChild);
+
+        final JSONObject json = OrgChartRenderer.toJSON(new DefaultOrgChartDataProvider(root), root, "00", 1);
+
+        assertEquals("001", json.get("relationship"));
+        final JSONArray children = json.getJSONArray("children");
+        assertEquals(2, children.length());
+        assertEquals("111", children.getJSONObject(0).get("relationship"));
+        assertEquals("110", children.getJSONObject(1).get("relationship"));
+        assertFalse(children.getJSONObject(0).has("children"));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.sheet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.extensions.component.sheet.Sheet;
+import org.primefaces.extensions.model.sheet.LazySheetModel;
+import org.primefaces.model.SortOrder;
+
+/**
+ * <code>sheet</code> lazy model.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class LazySheetModelTest {
+
+    private MockFacesContext context;
+
+    private Sheet sheet;
+
+    @Before
+    public void before() {
+        context = new MockFacesContext();
+        sheet = new Sheet();
+        sheet.setVar("row");
+        sheet.setValue(new NumberModel(1000));
+    }
+
+    @After
+    public void after() {
+        context.release();
+    }
+
+    @Test
+    public void testSetRowVarResolvesUnloadedRow() {
+        sheet.setRowVar(context, "42");
+
+        assertEquals(Integer.valueOf(42), context.getRequestMap().get("row"));
+    }
+
+    @Test
+    public void testSetRowVarDeletedRow() {
+        sheet.setRowVar(context, "1000");
+
+        assertNull(context.getRequestMap().get("row"));
+    }
+
+    @Test
+    public void testSetRowVarNull() {
+        sheet.setRowVar(context, "42");
+        sheet.setRowVar(context, null);
+
+        assertNull(context.getRequestMap().get("row"));
+    }
+
+    /**
+     * Model of the numbers 0 to size - 1, the row key of a number is the number itself.
+     */
+    private static final class NumberModel extends LazySheetModel<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int size;
+
+        NumberModel(final int size) {
+            this.size = size;
+            setRowCount(size);
+        }
+
+        @Override
+        public List<Integer> load(final int first, final int pageSize, final String sortBy, final SortOrder sortOrder,
+                    final Map<String, String> filters) {
+            final List<Integer> rows = new ArrayList<>();
+            for (int i = first; i < Math.min(size, first + pageSize); i++) {
+                rows.add(i);
+            }
+            return rows;
+        }
+
+        @Override
+        public Integer getRowData(final String rowKey) {
+            final int row = Integer.parseInt(rowKey);
+            return row < size ? Integer.valueOf(row) : null;
+        }
+    }
+}
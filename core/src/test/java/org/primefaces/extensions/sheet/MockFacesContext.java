@@ -0,0 +1,82 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.sheet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+
+/**
+ * FacesContext for unit tests of the Sheet holding only the request map and the request parameters.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class MockFacesContext extends FacesContextWrapper {
+
+    private final Map<String, Object> requestMap = new HashMap<>();
+
+    private final Map<String, String> requestParameterMap = new HashMap<>();
+
+    private final ExternalContext externalContext = new ExternalContextWrapper() {
+
+        @Override
+        public ExternalContext getWrapped() {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> getRequestMap() {
+            return requestMap;
+        }
+
+        @Override
+        public Map<String, String> getRequestParameterMap() {
+            return requestParameterMap;
+        }
+    };
+
+    public MockFacesContext() {
+        setCurrentInstance(this);
+    }
+
+    @Override
+    public FacesContext getWrapped() {
+        return null;
+    }
+
+    @Override
+    public ExternalContext getExternalContext() {
+        return externalContext;
+    }
+
+    @Override
+    public void release() {
+        setCurrentInstance(null);
+    }
+
+    public Map<String, Object> getRequestMap() {
+        return requestMap;
+    }
+
+    public Map<String, String> getRequestParameterMap() {
+        return requestParameterMap;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2011-2020 PrimeFaces Extensions
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.extensions.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * {@link JavascriptVarWriter} output must match {@link JavascriptVarBuilder}.
+ *
+ * @author agent / last modified by $Author$
+ * @since 9.0
+ */
+public class JavascriptVarWriterTest {
+
+    private static final String[] VALUES = {
+                "plain",
+                "",
+                "double \" and single ' quotes",
+                "back\\slash",
+                "line\nbreak\r\ttab",
+                "</script><script>alert(1)</script>",
+                "control \u0001 \b \f",
+                "separators \u2028 \u2029",
+                "unicode \u00e4\u00f6\u00fc \u20ac \ud83d\ude00"
+    };
+
+    @Test
+    public void testArrayMatchesBuilder() throws IOException {
+        final JavascriptVarBuilder builder = new JavascriptVarBuilder(null, false);
+        final StringBuilder out = new StringBuilder();
+        final JavascriptVarWriter writer = new JavascriptVarWriter(out, false);
+        for (final String value : VALUES) {
+            builder.appendArrayValue(value, true);
+            writer.appendArrayValue(value, true);
+        }
+        builder.appendArrayValue(null, true).appendArrayValue("null", false);
+        writer.appendArrayValue(null, true).appendArrayValue("null", false);
+
+        builder.closeVar();
+        writer.closeVar();
+        assertEquals(builder.toString(), out.toString());
+    }
+
+    @Test
+    public void testObjectMatchesBuilder() throws IOException {
+        final JavascriptVarBuilder builder = new JavascriptVarBuilder(null, true);
+        final StringBuilder out = new StringBuilder();
+        final JavascriptVarWriter writer = new JavascriptVarWriter(out, true);
+        for (int i = 0; i < VALUES.length; i++) {
+            builder.appendRowColProperty(i, i + 1, VALUES[i], true);
+            writer.appendRowColProperty(i, i + 1, VALUES[i], true);
+        }
+        builder.appendProperty("flag", "true", false);
+        writer.appendProperty("flag", "true", false);
+
+        builder.closeVar();
+        writer.closeVar();
+        assertEquals(builder.toString(), out.toString());
+    }
+
+    @Test
+    public void testNestedArrays() throws IOException {
+        final JavascriptVarBuilder row = new JavascriptVarBuilder(null, false);
+        row.appendArrayValue("a\"b", true).appendArrayValue("c/d", true);
+        final JavascriptVarBuilder builder = new JavascriptVarBuilder(null, false);
+        builder.appendArrayValue(row.closeVar().toString(), false);
+        builder.appendArrayValue(row.toString(), false);
+
+        final StringBuilder out = new StringBuilder();
+        final JavascriptVarWriter writer = new JavascriptVarWriter(out, false);
+        for (int i = 0; i < 2; i++) {
+            writer.startArrayValue(false).appendArrayValue("a\"b", true).appendArrayValue("c/d", true).closeVar();
+        }
+        writer.closeVar();
+
+        assertEquals(builder.closeVar().toString(), out.toString());
+    }
+}
@@ -63,9 +63,10 @@ public class OrgchartController implements Serializable {
 
     public static void onDropOver(final OrgChartDropEvent event) {
 
-        System.out.println("hierachy: " + event.getHierarchy().toString());
         System.out.println("dragged node id " + event.getDraggedNodeId());
+        System.out.println("drag zone id " + event.getDragZoneId());
         System.out.println("dropped node id " + event.getDroppedZoneId());
+        System.out.println("index " + event.getIndex());
     }
 
     public OrgChartNode getOrgChartNode() {